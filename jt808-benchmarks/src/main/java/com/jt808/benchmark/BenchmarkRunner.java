@@ -0,0 +1,31 @@
+package com.jt808.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * <p>
+ * 接受JMH的全部命令行参数，并总是附加GC分析器，每个基准都会输出 {@code gc.alloc.rate.norm}（每次操作分配的字节数）。
+ * <pre>
+ * mvn -pl jt808-benchmarks -am package
+ * java -jar jt808-benchmarks/target/benchmarks.jar            # 全部基准
+ * java -jar jt808-benchmarks/target/benchmarks.jar Codec      # 按正则过滤
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.jt808.benchmark;
+
+import com.jt808.common.util.ByteScanner;
+import com.jt808.common.util.ByteScanners;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标量与SIMD字节扫描的JMH对比
+ * <p>
+ * 数据长度覆盖心跳/位置汇报（64、256字节）到多媒体、升级包分包（1024字节）；
+ * {@code bufferGetByteLoop} 为引入扫描器之前逐字节 {@link Buffer#getByte(int)} 的实现，作为基线。
+ * 结果按 impl 参数分组比较。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ByteScannerBenchmark {
+
+    @Param({"64", "256", "1024"})
+    private int size;
+
+    @Param({"scalar", "vector"})
+    private String impl;
+
+    private ByteScanner scanner;
+    private byte[] data;
+    private Buffer buffer;
+
+    @Setup
+    public void setUp() {
+        scanner = "vector".equals(impl) ? ByteScanners.vector() : ByteScanners.scalar();
+        if (scanner == null) {
+            throw new IllegalStateException("Vector API is not available on this JVM");
+        }
+        // 随机二进制数据中0x7E/0x7D约占1/128，与图片、固件数据接近
+        data = new byte[size];
+        new Random(808).nextBytes(data);
+        buffer = Buffer.buffer(data);
+    }
+
+    @Benchmark
+    public byte xor() {
+        return scanner.xor(data, 0, size);
+    }
+
+    @Benchmark
+    public int countEscape() {
+        return scanner.countEscape(data, 0, size);
+    }
+
+    @Benchmark
+    public int indexOfEscape() {
+        int count = 0;
+        int index = -1;
+        while ((index = scanner.indexOfEscape(data, index + 1, size)) >= 0) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public byte bufferGetByteLoop() {
+        byte checksum = 0;
+        for (int i = 0; i < size; i++) {
+            checksum ^= buffer.getByte(i);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,60 @@
+package com.jt808.benchmark;
+
+import com.jt808.common.util.ByteUtils;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ByteUtils} 转义、反转义和校验码基准
+ * <p>
+ * 转义和校验码的输入为反转义后的帧内容（消息头+消息体+校验码），反转义的输入为去除标识位的原始帧内容。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ByteUtilsBenchmark {
+
+    @Param({FrameCorpus.HEARTBEAT, FrameCorpus.LOCATION_ADDITIONAL, FrameCorpus.MULTIMEDIA})
+    private String corpus;
+
+    private Buffer[] escaped;
+    private Buffer[] unescaped;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Buffer[] frames = FrameCorpus.load(corpus);
+        escaped = new Buffer[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            escaped[i] = frames[i].getBuffer(1, frames[i].length() - 1);
+        }
+        unescaped = FrameCorpus.loadUnescaped(corpus);
+    }
+
+    @Benchmark
+    public Buffer escape() {
+        return ByteUtils.escape(unescaped[nextIndex()]);
+    }
+
+    @Benchmark
+    public Buffer unescape() {
+        return ByteUtils.unescape(escaped[nextIndex()]);
+    }
+
+    @Benchmark
+    public byte checksum() {
+        Buffer data = unescaped[nextIndex()];
+        return ByteUtils.calculateChecksum(data, 0, data.length() - 1);
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == escaped.length ? 0 : index + 1;
+        return index;
+    }
+}
@@ -0,0 +1,61 @@
+package com.jt808.benchmark;
+
+import com.jt808.common.exception.ProtocolException;
+import com.jt808.protocol.codec.JT808Decoder;
+import com.jt808.protocol.codec.JT808Encoder;
+import com.jt808.protocol.message.JT808Message;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JT808Decoder#decode(Buffer)} 与 {@link JT808Encoder#encode(JT808Message)} 基准
+ * <p>
+ * 每次操作依次取语料中的下一帧；编码使用的消息对象由同一语料解码得到。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({FrameCorpus.HEARTBEAT, FrameCorpus.LOCATION, FrameCorpus.LOCATION_ADDITIONAL,
+            FrameCorpus.MULTIMEDIA, FrameCorpus.MIXED})
+    private String corpus;
+
+    private JT808Decoder decoder;
+    private JT808Encoder encoder;
+    private Buffer[] frames;
+    private JT808Message[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() throws ProtocolException {
+        decoder = new JT808Decoder();
+        encoder = new JT808Encoder();
+        frames = FrameCorpus.load(corpus);
+        messages = new JT808Message[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            messages[i] = decoder.decode(frames[i]);
+        }
+    }
+
+    @Benchmark
+    public JT808Message decode() throws ProtocolException {
+        return decoder.decode(frames[nextIndex()]);
+    }
+
+    @Benchmark
+    public Buffer encode() {
+        return encoder.encode(messages[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == frames.length ? 0 : index + 1;
+        return index;
+    }
+}
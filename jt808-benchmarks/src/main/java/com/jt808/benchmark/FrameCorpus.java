@@ -0,0 +1,112 @@
+package com.jt808.benchmark;
+
+import com.jt808.common.util.ByteUtils;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试使用的帧语料
+ * <p>
+ * 语料位于 {@code /corpus/*.hex}，每行一帧已转义的完整帧（含首尾标识位），以 {@code #} 开头的行为注释。
+ * 帧内字段（终端号、流水号、经纬度、时间、附加信息、多媒体数据）按真实车队的取值分布生成，
+ * 校验码和转义均已正确处理，可直接交给解码器。
+ */
+public final class FrameCorpus {
+
+    /** 终端心跳 */
+    public static final String HEARTBEAT = "heartbeat";
+
+    /** 无附加信息的位置汇报 */
+    public static final String LOCATION = "location";
+
+    /** 带附加信息的位置汇报 */
+    public static final String LOCATION_ADDITIONAL = "location-additional";
+
+    /** 约1KB的多媒体数据上传 */
+    public static final String MULTIMEDIA = "multimedia";
+
+    /** 按线上流量比例混合的语料 */
+    public static final String MIXED = "mixed";
+
+    private FrameCorpus() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 加载语料
+     *
+     * @param name 语料名称
+     * @return 已转义的完整帧
+     */
+    public static Buffer[] load(String name) {
+        if (MIXED.equals(name)) {
+            return mixed();
+        }
+        return read(name).toArray(new Buffer[0]);
+    }
+
+    /**
+     * 加载语料并去除标识位、反转义，得到消息头+消息体+校验码
+     *
+     * @param name 语料名称
+     * @return 反转义后的帧内容
+     */
+    public static Buffer[] loadUnescaped(String name) {
+        Buffer[] frames = load(name);
+        Buffer[] result = new Buffer[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            result[i] = ByteUtils.unescape(frames[i].getBuffer(1, frames[i].length() - 1));
+        }
+        return result;
+    }
+
+    /**
+     * 混合语料：每10帧中1帧心跳、4帧位置汇报、4帧带附加信息的位置汇报、1帧多媒体数据
+     */
+    private static Buffer[] mixed() {
+        List<Buffer> heartbeats = read(HEARTBEAT);
+        List<Buffer> locations = read(LOCATION);
+        List<Buffer> additionals = read(LOCATION_ADDITIONAL);
+        List<Buffer> multimedia = read(MULTIMEDIA);
+
+        List<Buffer> frames = new ArrayList<>();
+        for (int i = 0; i < multimedia.size(); i++) {
+            frames.add(heartbeats.get(i % heartbeats.size()));
+            for (int j = 0; j < 4; j++) {
+                frames.add(locations.get((i * 4 + j) % locations.size()));
+                frames.add(additionals.get((i * 4 + j) % additionals.size()));
+            }
+            frames.add(multimedia.get(i));
+        }
+        return frames.toArray(new Buffer[0]);
+    }
+
+    private static List<Buffer> read(String name) {
+        String resource = "/corpus/" + name + ".hex";
+        InputStream in = FrameCorpus.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("Unknown corpus: " + name);
+        }
+        List<Buffer> frames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    frames.add(Buffer.buffer(ByteUtils.hexToBytes(line)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read corpus " + resource, e);
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,61 @@
+package com.jt808.benchmark;
+
+import com.jt808.common.JT808Constants;
+import com.jt808.protocol.codec.JT808FrameDecoder;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JT808FrameDecoder} TCP流分帧基准
+ * <p>
+ * 把混合语料首尾相接成一条字节流，再按 {@code readSize} 切分成若干次读取，模拟内核合并或拆分多帧后的输入：
+ * 64字节时几乎每帧都跨读取，1460字节（以太网MSS）为常见的粘包，65536字节时一次读取包含整条流。
+ * 每次操作依次处理下一次读取，输出的帧交给 {@link Blackhole}。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class FrameDecoderBenchmark {
+
+    @Param({"64", "1460", "65536"})
+    private int readSize;
+
+    private JT808FrameDecoder frameDecoder;
+    private Buffer[] reads;
+    private int next;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        Buffer stream = Buffer.buffer();
+        for (Buffer frame : FrameCorpus.load(FrameCorpus.MIXED)) {
+            stream.appendBuffer(frame);
+        }
+        int count = (stream.length() + readSize - 1) / readSize;
+        reads = new Buffer[count];
+        for (int i = 0; i < count; i++) {
+            int offset = i * readSize;
+            reads[i] = stream.getBuffer(offset, Math.min(stream.length(), offset + readSize));
+        }
+        frameDecoder = new JT808FrameDecoder(JT808Constants.MAX_FRAME_LENGTH, blackhole::consume);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (frameDecoder.getOversizeFrameCount() != 0) {
+            throw new IllegalStateException("Corpus produced oversize frames: " + frameDecoder);
+        }
+    }
+
+    @Benchmark
+    public void handle() {
+        int index = next;
+        next = index + 1 == reads.length ? 0 : index + 1;
+        frameDecoder.handle(reads[index]);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jt808.benchmark;
+
+import com.jt808.protocol.message.T0200LocationReport;
+import com.jt808.protocol.message.additional.AdditionalInfo;
+import com.jt808.protocol.message.additional.AdditionalInfoParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link T0200LocationReport#decodeBody(Buffer)} 与 {@link AdditionalInfoParser#parseAdditionalInfoList(ByteBuf, int)} 基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class LocationReportBenchmark {
+
+    /** 2013版本不分包的消息头长度 */
+    private static final int HEADER_LENGTH = 12;
+
+    /** 位置基本信息长度 */
+    private static final int BASIC_LENGTH = 28;
+
+    @Param({"false", "true"})
+    private boolean additional;
+
+    private Buffer[] bodies;
+    private ByteBuf[] additionalInfos;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Buffer[] frames = FrameCorpus.loadUnescaped(additional ? FrameCorpus.LOCATION_ADDITIONAL : FrameCorpus.LOCATION);
+        bodies = new Buffer[frames.length];
+        additionalInfos = new ByteBuf[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            // 去除消息头和校验码
+            bodies[i] = frames[i].getBuffer(HEADER_LENGTH, frames[i].length() - 1);
+            additionalInfos[i] = Unpooled.wrappedBuffer(bodies[i].getBytes(BASIC_LENGTH, bodies[i].length()));
+        }
+    }
+
+    @Benchmark
+    public T0200LocationReport decodeBody() {
+        T0200LocationReport report = new T0200LocationReport();
+        report.decodeBody(bodies[nextIndex()]);
+        return report;
+    }
+
+    @Benchmark
+    public List<AdditionalInfo> parseAdditionalInfoList() {
+        ByteBuf buffer = additionalInfos[nextIndex()];
+        buffer.readerIndex(0);
+        return AdditionalInfoParser.parseAdditionalInfoList(buffer, buffer.readableBytes());
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == bodies.length ? 0 : index + 1;
+        return index;
+    }
+}
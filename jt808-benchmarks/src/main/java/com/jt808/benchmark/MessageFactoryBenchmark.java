@@ -0,0 +1,57 @@
+package com.jt808.benchmark;
+
+import com.jt808.protocol.constants.MessageTypes;
+import com.jt808.protocol.factory.JT808MessageFactory;
+import com.jt808.protocol.message.JT808Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JT808MessageFactory#createMessage(int)} 基准
+ * <p>
+ * 已注册的消息ID按线上上行流量的常见类型轮询；未注册的消息ID走通用消息分支。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class MessageFactoryBenchmark {
+
+    /** 常见上行消息ID，位置汇报占多数；长度为2的幂，便于取模轮询 */
+    private static final int[] KNOWN_IDS = {
+            MessageTypes.Terminal.HEARTBEAT,
+            MessageTypes.Terminal.LOCATION_REPORT,
+            MessageTypes.Terminal.LOCATION_REPORT,
+            MessageTypes.Terminal.LOCATION_REPORT,
+            MessageTypes.Terminal.COMMON_RESPONSE,
+            MessageTypes.Terminal.AUTH,
+            MessageTypes.Terminal.LOCATION_DATA_BATCH_UPLOAD,
+            MessageTypes.Terminal.MULTIMEDIA_DATA_UPLOAD
+    };
+
+    /** 未注册的厂商自定义消息ID */
+    private static final int UNKNOWN_ID = 0x0F01;
+
+    private JT808MessageFactory factory;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        factory = JT808MessageFactory.getInstance();
+    }
+
+    @Benchmark
+    public JT808Message createKnown() {
+        int index = next;
+        next = (index + 1) & (KNOWN_IDS.length - 1);
+        return factory.createMessage(KNOWN_IDS[index]);
+    }
+
+    @Benchmark
+    public JT808Message createUnknown() {
+        return factory.createMessage(UNKNOWN_ID);
+    }
+}
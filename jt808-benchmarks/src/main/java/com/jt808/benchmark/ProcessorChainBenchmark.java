@@ -0,0 +1,109 @@
+package com.jt808.benchmark;
+
+import com.jt808.protocol.message.JT808Header;
+import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.message.T0002TerminalHeartbeat;
+import com.jt808.protocol.processor.MessageProcessor;
+import com.jt808.protocol.processor.MessageProcessorChain;
+import com.jt808.protocol.processor.ProcessContext;
+import com.jt808.protocol.processor.ProcessResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageProcessorChain} 每条消息的处理链开销基准
+ * <p>
+ * 处理器只返回预先创建的结果，测得的是处理链本身的开销：四个同步处理器，另有一个只处理位置汇报的处理器，
+ * 心跳消息永远不会经过它。{@code compiled=false} 为原有的逐个处理器递归处理。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ProcessorChainBenchmark {
+
+    @Param({"false", "true"})
+    private boolean compiled;
+
+    private Vertx vertx;
+    private MessageProcessorChain chain;
+    private ProcessContext context;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        chain = new MessageProcessorChain(vertx, compiled);
+        for (int i = 0; i < 4; i++) {
+            chain.addProcessor(new NoopProcessor("noop-" + i, i, -1));
+        }
+        chain.addProcessor(new NoopProcessor("location", 10, 0x0200));
+
+        JT808Message message = new T0002TerminalHeartbeat();
+        message.setHeader(new JT808Header(0x0002, "13800138000", 1));
+        context = new ProcessContext("bench", message, vertx);
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public List<ProcessResult> process() {
+        context.continueProcessing();
+        return chain.process(context).result();
+    }
+
+    /**
+     * 只返回固定结果的同步处理器
+     */
+    private static final class NoopProcessor implements MessageProcessor {
+        private final String name;
+        private final int priority;
+        private final int messageId;
+        private final ProcessResult result;
+
+        NoopProcessor(String name, int priority, int messageId) {
+            this.name = name;
+            this.priority = priority;
+            this.messageId = messageId;
+            this.result = ProcessResult.success(name, 0);
+        }
+
+        @Override
+        public Future<ProcessResult> process(ProcessContext context) {
+            return Future.succeededFuture(result);
+        }
+
+        @Override
+        public ProcessResult processSync(ProcessContext context) {
+            return result;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean canProcess(int messageId) {
+            return this.messageId < 0 || this.messageId == messageId;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+}
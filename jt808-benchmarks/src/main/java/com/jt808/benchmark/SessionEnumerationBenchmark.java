@@ -0,0 +1,103 @@
+package com.jt808.benchmark;
+
+import com.jt808.common.util.PhoneNumberUtils;
+import com.jt808.server.session.Session;
+import com.jt808.server.session.SessionFilters;
+import com.jt808.server.session.SessionManager;
+import com.jt808.server.session.SessionPage;
+import com.jt808.server.session.SessionSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 会话枚举基准：模拟监控面板的一次轮询（按协议版本和状态统计会话数）
+ * <p>
+ * 对比先复制整张会话表再由调用方统计（原先的 {@code new ConcurrentHashMap<>(sessions)}，以及
+ * {@link SessionManager#getAllSessions()} 列表快照），与 {@link SessionManager#summarize(Predicate)} 的逐个累加统计
+ * 和 {@link SessionManager#getSessions(Predicate, long, int)} 分页查询。配合 {@code -prof gc} 观察每次轮询的分配量
+ * （{@code gc.alloc.rate.norm}）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SessionEnumerationBenchmark {
+
+    /** 每页会话数 */
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000", "300000"})
+    private int sessions;
+
+    private ConcurrentHashMap<String, Session> sessionMap;
+    private SessionManager manager;
+    private final Predicate<Session> authenticated2019 =
+            SessionFilters.authenticated().and(SessionFilters.protocolVersion(1));
+
+    @Setup
+    public void setUp() {
+        sessionMap = new ConcurrentHashMap<>();
+        manager = SessionFixtures.manager(sessions);
+        for (int i = 0; i < sessions; i++) {
+            int connectionId = SessionFixtures.createSession(manager);
+            Session session = manager.getSession(connectionId);
+            // 一半终端已鉴权，三分之一使用2019版协议
+            session.setAuthenticated(i % 2 == 0);
+            session.setProtocolVersion((byte) (i % 3 == 0 ? 1 : 0));
+            if (i % 4 != 3) {
+                manager.bindTerminal(connectionId, SessionFixtures.PHONE_BASE + i);
+            }
+            sessionMap.put("session_" + connectionId, session);
+        }
+    }
+
+    @Benchmark
+    public int[] copyMapThenCount() {
+        Map<String, Session> copy = new ConcurrentHashMap<>(sessionMap);
+        return count(copy.values());
+    }
+
+    @Benchmark
+    public int[] copyListThenCount() {
+        return count(manager.getAllSessions());
+    }
+
+    @Benchmark
+    public SessionSummary summarize() {
+        return manager.summarize(SessionFilters.all()).result();
+    }
+
+    @Benchmark
+    public SessionPage firstPageFiltered() {
+        return manager.getSessions(authenticated2019, SessionPage.FIRST, PAGE_SIZE).result();
+    }
+
+    /**
+     * 调用方拿到快照后的统计：总数、未绑定、已绑定未鉴权、已鉴权，以及2019版协议的会话数
+     */
+    private static int[] count(Iterable<Session> snapshot) {
+        int[] counts = new int[5];
+        for (Session session : snapshot) {
+            counts[0]++;
+            if (session.isAuthenticated()) {
+                counts[3]++;
+            } else if (session.getTerminalKey() != PhoneNumberUtils.INVALID_KEY) {
+                counts[2]++;
+            } else {
+                counts[1]++;
+            }
+            if (session.getProtocolVersion() == 1) {
+                counts[4]++;
+            }
+        }
+        return counts;
+    }
+}
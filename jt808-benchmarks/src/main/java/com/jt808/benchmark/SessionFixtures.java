@@ -0,0 +1,58 @@
+package com.jt808.benchmark;
+
+import com.jt808.server.session.SessionManager;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetSocket;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * 会话相关基准使用的会话管理器
+ * <p>
+ * 只通过 {@link SessionManager} 的公开方法建立会话和终端绑定。会话管理器不绑定服务器实例（不调用
+ * {@link SessionManager#attachShard(int)}），非分片模式下不启动定时器，也不使用Vert.x实例。
+ */
+public final class SessionFixtures {
+
+    /** 终端标识起始值（手机号13800000000） */
+    public static final long PHONE_BASE = 13_800_000_000L;
+
+    /** 不连接任何对端的网络连接，所有方法返回null */
+    private static final NetSocket DETACHED_SOCKET = (NetSocket) Proxy.newProxyInstance(
+            NetSocket.class.getClassLoader(), new Class<?>[]{NetSocket.class}, (proxy, method, args) -> null);
+
+    private SessionFixtures() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 创建会话管理器，不预先创建会话
+     * @param initialCapacity 会话表初始容量
+     * @return 会话管理器
+     */
+    public static SessionManager manager(int initialCapacity) {
+        return new SessionManager(null, new JsonObject().put("session.initialCapacity", initialCapacity));
+    }
+
+    /**
+     * 创建会话，连接ID从1开始依次递增
+     * @param manager 会话管理器
+     * @return 连接ID
+     */
+    public static int createSession(SessionManager manager) {
+        return manager.createSession(DETACHED_SOCKET);
+    }
+
+    /**
+     * 创建会话管理器并登记指定数量的会话，第i个会话绑定终端标识 {@code PHONE_BASE + i}
+     * @param sessions 会话数
+     * @return 会话管理器
+     */
+    public static SessionManager populated(int sessions) {
+        SessionManager manager = manager(sessions);
+        for (int i = 0; i < sessions; i++) {
+            manager.bindTerminal(createSession(manager), PHONE_BASE + i);
+        }
+        return manager;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jt808.benchmark;
+
+import com.jt808.server.session.Session;
+import com.jt808.server.session.WriteCoalescingStats;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * 单个会话的内存占用（JOL）
+ * <p>
+ * 输出 {@link Session} 的字段布局，以及一个会话对象图的总大小。连接对象和所有会话共享的写合并统计不计入。
+ * <pre>
+ * java -cp jt808-benchmarks/target/benchmarks.jar com.jt808.benchmark.SessionFootprint
+ * </pre>
+ */
+public final class SessionFootprint {
+
+    private SessionFootprint() {
+        // 工具类，禁止实例化
+    }
+
+    public static void main(String[] args) {
+        WriteCoalescingStats shared = new WriteCoalescingStats();
+        GraphLayout sharedLayout = GraphLayout.parseInstance(shared);
+
+        System.out.println(ClassLayout.parseClass(Session.class).toPrintable());
+
+        Session session = new Session(1, null, shared);
+        report("默认（不开启收发统计）", GraphLayout.parseInstance(session).subtract(sharedLayout));
+
+        Session withStats = new Session(2, null, shared, true);
+        report("开启收发统计", GraphLayout.parseInstance(withStats).subtract(sharedLayout));
+    }
+
+    private static void report(String name, GraphLayout layout) {
+        System.out.printf("%s: %d个对象，共%d字节%n%s%n", name, layout.totalCount(), layout.totalSize(), layout.toFootprint());
+    }
+}
@@ -0,0 +1,89 @@
+package com.jt808.benchmark;
+
+import com.jt808.server.session.Session;
+import com.jt808.server.session.SessionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话登记表查找基准
+ * <p>
+ * 对比原先的两张 {@link ConcurrentHashMap}（手机号 → {@code "session_"+N} → 会话，两次字符串散列查找）
+ * 与 {@link SessionManager} 的终端标识表（终端标识 → 会话，一次探测）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SessionRegistryBenchmark {
+
+    /** 查找序列长度（2的幂），按随机顺序访问避免顺序访问带来的缓存优势 */
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"100000", "1000000"})
+    private int sessions;
+
+    private ConcurrentHashMap<String, Session> sessionMap;
+    private ConcurrentHashMap<String, String> phoneMap;
+    private SessionManager manager;
+
+    private String[] phones;
+    private long[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        sessionMap = new ConcurrentHashMap<>();
+        phoneMap = new ConcurrentHashMap<>();
+        manager = SessionFixtures.populated(sessions);
+        for (int i = 0; i < sessions; i++) {
+            Session session = new Session(i + 1, null);
+            String sessionId = "session_" + (i + 1);
+            String phone = Long.toString(SessionFixtures.PHONE_BASE + i);
+            sessionMap.put(sessionId, session);
+            phoneMap.put(phone, sessionId);
+        }
+
+        Random random = new Random(808);
+        phones = new String[LOOKUPS];
+        keys = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long key = SessionFixtures.PHONE_BASE + random.nextInt(sessions);
+            keys[i] = key;
+            // 解码器产生的手机号字符串已带缓存的散列值，这里同样预先计算
+            phones[i] = Long.toString(key);
+            phones[i].hashCode();
+        }
+    }
+
+    @Benchmark
+    public Session concurrentHashMapByPhone(Cursor cursor) {
+        String sessionId = phoneMap.get(phones[next(cursor)]);
+        return sessionId != null ? sessionMap.get(sessionId) : null;
+    }
+
+    @Benchmark
+    public Session sessionManagerByPhone(Cursor cursor) {
+        return manager.getSessionByPhone(phones[next(cursor)]);
+    }
+
+    @Benchmark
+    public Session sessionManagerByTerminalKey(Cursor cursor) {
+        return manager.getSessionByTerminalKey(keys[next(cursor)]);
+    }
+
+    private static int next(Cursor cursor) {
+        int index = cursor.next;
+        cursor.next = (index + 1) & (LOOKUPS - 1);
+        return index;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jt808.benchmark;
+
+import com.jt808.server.session.Session;
+import com.jt808.server.session.SessionManager;
+import org.openjdk.jol.vm.VM;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 会话登记表内存占用测量
+ * <p>
+ * 以GC后的堆使用量之差计算每个会话的登记开销，不含会话对象本身：原先的两张 {@link ConcurrentHashMap}
+ * （含 {@code "session_"+N} 和手机号字符串）登记预先创建的会话；{@link SessionManager} 创建并绑定同样数量的会话，
+ * 扣除会话对象后即连接ID表、终端标识表和空闲检测时间轮槽位的开销（时间轮先推进一次，与运行中的状态一致）。
+ * <pre>
+ * java -Xms4g -Xmx4g -XX:+UseParallelGC -cp jt808-benchmarks/target/benchmarks.jar \
+ *     com.jt808.benchmark.SessionRegistryFootprint 1000000
+ * </pre>
+ */
+public final class SessionRegistryFootprint {
+
+    private SessionRegistryFootprint() {
+        // 工具类，禁止实例化
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Session[] sessions = new Session[count];
+        for (int i = 0; i < count; i++) {
+            sessions[i] = new Session(i + 1, null);
+        }
+
+        long base = usedHeap();
+        ConcurrentHashMap<String, Session> sessionMap = new ConcurrentHashMap<>();
+        ConcurrentHashMap<String, String> phoneMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String sessionId = "session_" + (i + 1);
+            sessionMap.put(sessionId, sessions[i]);
+            phoneMap.put(Long.toString(SessionFixtures.PHONE_BASE + i), sessionId);
+        }
+        long concurrentHashMapBytes = usedHeap() - base;
+        report("ConcurrentHashMap<String, ...> x2", concurrentHashMapBytes, count, sessionMap.size() + phoneMap.size());
+        sessionMap = null;
+        phoneMap = null;
+
+        long sessionBytes = VM.current().sizeOf(sessions[0]);
+        sessions = null;
+
+        base = usedHeap();
+        SessionManager manager = SessionFixtures.populated(count);
+        manager.getIdleTimeoutWheel().tick(System.currentTimeMillis());
+        long sessionManagerBytes = usedHeap() - base - sessionBytes * count;
+        report("SessionManager", sessionManagerBytes, count, manager.getSessionCount() + manager.getBoundTerminalCount());
+        System.out.printf("节省: %.1f%%%n", 100.0 * (concurrentHashMapBytes - sessionManagerBytes) / concurrentHashMapBytes);
+    }
+
+    private static void report(String name, long bytes, int count, int entries) {
+        System.out.printf("%-36s %,d个会话（%,d个条目）: 共%,d字节，每会话%.1f字节%n",
+                name, count, entries, bytes, (double) bytes / count);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
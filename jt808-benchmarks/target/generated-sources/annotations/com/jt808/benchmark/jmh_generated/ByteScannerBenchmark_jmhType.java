@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class ByteScannerBenchmark_jmhType extends ByteScannerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class ByteUtilsBenchmark_jmhType extends ByteUtilsBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class CodecBenchmark_jmhType extends CodecBenchmark_jmhType_B3 {
+}
+
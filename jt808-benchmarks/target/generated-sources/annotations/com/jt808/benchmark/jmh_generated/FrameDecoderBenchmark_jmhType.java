@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class FrameDecoderBenchmark_jmhType extends FrameDecoderBenchmark_jmhType_B3 {
+}
+
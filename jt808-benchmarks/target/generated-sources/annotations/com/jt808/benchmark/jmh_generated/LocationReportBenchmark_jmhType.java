@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class LocationReportBenchmark_jmhType extends LocationReportBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class MessageFactoryBenchmark_jmhType extends MessageFactoryBenchmark_jmhType_B3 {
+}
+
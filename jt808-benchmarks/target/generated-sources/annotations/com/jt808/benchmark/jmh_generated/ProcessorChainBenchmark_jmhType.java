@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class ProcessorChainBenchmark_jmhType extends ProcessorChainBenchmark_jmhType_B3 {
+}
+
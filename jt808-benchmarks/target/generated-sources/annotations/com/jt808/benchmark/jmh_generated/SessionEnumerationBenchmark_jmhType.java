@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class SessionEnumerationBenchmark_jmhType extends SessionEnumerationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.jt808.benchmark.jmh_generated;
+public class SessionRegistryBenchmark_jmhType extends SessionRegistryBenchmark_jmhType_B3 {
+}
+
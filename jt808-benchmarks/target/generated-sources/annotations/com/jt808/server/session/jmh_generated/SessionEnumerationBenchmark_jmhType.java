@@ -0,0 +1,4 @@
+package com.jt808.server.session.jmh_generated;
+public class SessionEnumerationBenchmark_jmhType extends SessionEnumerationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.jt808.server.session.jmh_generated;
+public class SessionRegistryBenchmark_Cursor_jmhType extends SessionRegistryBenchmark_Cursor_jmhType_B3 {
+}
+
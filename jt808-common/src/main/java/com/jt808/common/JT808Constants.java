@@ -182,7 +182,16 @@ public final class JT808Constants {
     public static final byte ESCAPE_FLAG = 0x7D;
     public static final byte ESCAPE_7E = 0x02;
     public static final byte ESCAPE_7D = 0x01;
-    
+
+    /** 消息体最大长度（消息体属性低10位） */
+    public static final int MAX_BODY_LENGTH = 0x03FF;
+
+    /** 消息头最大长度（2019版本：消息ID2 + 属性2 + 版本1 + 手机号10 + 流水号2 + 分包项4） */
+    public static final int MAX_HEADER_LENGTH = 21;
+
+    /** 单帧最大长度（头 + 体 + 校验码全部转义后的长度，再加首尾标识位） */
+    public static final int MAX_FRAME_LENGTH = (MAX_HEADER_LENGTH + MAX_BODY_LENGTH + 1) * 2 + 2;
+
     /** 默认端口 */
     public static final int DEFAULT_TCP_PORT = 7611;
     public static final int DEFAULT_UDP_PORT = 7612;
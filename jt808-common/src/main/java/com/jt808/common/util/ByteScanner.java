@@ -0,0 +1,59 @@
+package com.jt808.common.util;
+
+/**
+ * 字节数组扫描器
+ * <p>
+ * 提供协议编解码热路径上的批量字节运算：异或校验、查找标识位/转义符、统计需要转义的字节数。
+ * 所有范围参数均为 [from, to) 半开区间，调用方负责保证范围合法。
+ * 通过 {@link ByteScanners#get()} 获取当前平台上最快的实现。
+ */
+public interface ByteScanner {
+
+    /**
+     * 计算指定范围内全部字节的异或值
+     *
+     * @param data 数据
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 异或值
+     */
+    byte xor(byte[] data, int from, int to);
+
+    /**
+     * 查找指定字节第一次出现的位置
+     *
+     * @param data  数据
+     * @param from  起始位置（包含）
+     * @param to    结束位置（不包含）
+     * @param value 要查找的字节
+     * @return 所在位置，未找到时返回-1
+     */
+    int indexOf(byte[] data, int from, int to, byte value);
+
+    /**
+     * 查找第一个需要转义的字节（0x7E或0x7D）
+     *
+     * @param data 数据
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 所在位置，未找到时返回-1
+     */
+    int indexOfEscape(byte[] data, int from, int to);
+
+    /**
+     * 统计需要转义的字节（0x7E或0x7D）数量
+     *
+     * @param data 数据
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 需要转义的字节数量
+     */
+    int countEscape(byte[] data, int from, int to);
+
+    /**
+     * 实现名称，用于日志和基准测试
+     *
+     * @return 实现名称
+     */
+    String name();
+}
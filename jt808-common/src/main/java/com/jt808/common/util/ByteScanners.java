@@ -0,0 +1,218 @@
+package com.jt808.common.util;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.buffer.impl.BufferImpl;
+
+import java.util.Objects;
+
+/**
+ * 字节扫描器选择与缓冲区适配
+ * <p>
+ * 类加载时自动选择实现：运行时加载了 {@code jdk.incubator.vector} 模块且平台向量宽度不低于128位时
+ * 使用 {@link VectorByteScanner}，否则使用 {@link ScalarByteScanner}。
+ * 可通过系统属性 {@code -Djt808.simd=false} 强制使用标量实现。
+ * <p>
+ * 缓冲区版本的方法对堆内缓冲区直接扫描底层数组（通过 {@link #byteBuf(Buffer)} 取得，不分配对象）；
+ * 直接内存缓冲区和非Vert.x实现的缓冲区按块批量拷贝到线程私有数组后再扫描，
+ * 避免逐字节调用 {@link Buffer#getByte(int)} 带来的边界检查开销。
+ */
+public final class ByteScanners {
+
+    /** 是否启用SIMD实现的系统属性 */
+    public static final String SIMD_PROPERTY = "jt808.simd";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String VECTOR_SCANNER_CLASS = "com.jt808.common.util.VectorByteScanner";
+
+    /** 直接内存缓冲区的分块大小 */
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    private static final ByteScanner SCANNER = select();
+
+    private ByteScanners() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 获取当前平台上选定的扫描器
+     *
+     * @return 扫描器
+     */
+    public static ByteScanner get() {
+        return SCANNER;
+    }
+
+    /**
+     * 获取标量扫描器
+     *
+     * @return 标量扫描器
+     */
+    public static ByteScanner scalar() {
+        return ScalarByteScanner.INSTANCE;
+    }
+
+    /**
+     * 获取向量扫描器
+     *
+     * @return 向量扫描器，运行时不可用时返回null
+     */
+    public static ByteScanner vector() {
+        if (!ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return null;
+        }
+        try {
+            Class<?> type = Class.forName(VECTOR_SCANNER_CLASS);
+            if (!(Boolean) type.getDeclaredMethod("isSupported").invoke(null)) {
+                return null;
+            }
+            return (ByteScanner) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 是否使用了SIMD实现
+     *
+     * @return 使用向量扫描器时返回true
+     */
+    public static boolean isVectorized() {
+        return SCANNER != ScalarByteScanner.INSTANCE;
+    }
+
+    /**
+     * 获取Vert.x缓冲区底层的ByteBuf，不创建切片
+     * <p>
+     * 缓冲区的索引与返回的ByteBuf的绝对索引相同（与读索引无关），堆内缓冲区第 {@code i} 个字节位于
+     * {@code array()[arrayOffset() + i]}。返回的ByteBuf与缓冲区共用内存，调用方不能修改其索引或释放。
+     *
+     * @param buffer 缓冲区
+     * @return 底层ByteBuf，缓冲区不是Vert.x的实现时返回null
+     */
+    public static ByteBuf byteBuf(Buffer buffer) {
+        return buffer instanceof BufferImpl impl ? impl.byteBuf() : null;
+    }
+
+    private static ByteScanner select() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))) {
+            return ScalarByteScanner.INSTANCE;
+        }
+        ByteScanner vector = vector();
+        return vector != null ? vector : ScalarByteScanner.INSTANCE;
+    }
+
+    /**
+     * 计算缓冲区指定范围内全部字节的异或值
+     *
+     * @param buffer 缓冲区
+     * @param from   起始位置（包含）
+     * @param to     结束位置（不包含）
+     * @return 异或值
+     * @throws IndexOutOfBoundsException 当范围超出缓冲区长度时
+     */
+    public static byte xor(Buffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.length());
+        ByteBuf byteBuf = byteBuf(buffer);
+        if (byteBuf != null && byteBuf.hasArray()) {
+            int base = byteBuf.arrayOffset();
+            return SCANNER.xor(byteBuf.array(), base + from, base + to);
+        }
+        byte[] chunk = CHUNK.get();
+        byte checksum = 0;
+        for (int i = from; i < to; i += chunk.length) {
+            int n = Math.min(chunk.length, to - i);
+            buffer.getBytes(i, i + n, chunk, 0);
+            checksum ^= SCANNER.xor(chunk, 0, n);
+        }
+        return checksum;
+    }
+
+    /**
+     * 查找缓冲区中指定字节第一次出现的位置
+     *
+     * @param buffer 缓冲区
+     * @param from   起始位置（包含）
+     * @param to     结束位置（不包含）
+     * @param value  要查找的字节
+     * @return 所在位置，未找到时返回-1
+     * @throws IndexOutOfBoundsException 当范围超出缓冲区长度时
+     */
+    public static int indexOf(Buffer buffer, int from, int to, byte value) {
+        Objects.checkFromToIndex(from, to, buffer.length());
+        ByteBuf byteBuf = byteBuf(buffer);
+        if (byteBuf != null && byteBuf.hasArray()) {
+            int base = byteBuf.arrayOffset();
+            int index = SCANNER.indexOf(byteBuf.array(), base + from, base + to, value);
+            return index < 0 ? -1 : index - base;
+        }
+        byte[] chunk = CHUNK.get();
+        for (int i = from; i < to; i += chunk.length) {
+            int n = Math.min(chunk.length, to - i);
+            buffer.getBytes(i, i + n, chunk, 0);
+            int index = SCANNER.indexOf(chunk, 0, n, value);
+            if (index >= 0) {
+                return i + index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找缓冲区中第一个需要转义的字节（0x7E或0x7D）
+     *
+     * @param buffer 缓冲区
+     * @param from   起始位置（包含）
+     * @param to     结束位置（不包含）
+     * @return 所在位置，未找到时返回-1
+     * @throws IndexOutOfBoundsException 当范围超出缓冲区长度时
+     */
+    public static int indexOfEscape(Buffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.length());
+        ByteBuf byteBuf = byteBuf(buffer);
+        if (byteBuf != null && byteBuf.hasArray()) {
+            int base = byteBuf.arrayOffset();
+            int index = SCANNER.indexOfEscape(byteBuf.array(), base + from, base + to);
+            return index < 0 ? -1 : index - base;
+        }
+        byte[] chunk = CHUNK.get();
+        for (int i = from; i < to; i += chunk.length) {
+            int n = Math.min(chunk.length, to - i);
+            buffer.getBytes(i, i + n, chunk, 0);
+            int index = SCANNER.indexOfEscape(chunk, 0, n);
+            if (index >= 0) {
+                return i + index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 统计缓冲区中需要转义的字节（0x7E或0x7D）数量
+     *
+     * @param buffer 缓冲区
+     * @param from   起始位置（包含）
+     * @param to     结束位置（不包含）
+     * @return 需要转义的字节数量
+     * @throws IndexOutOfBoundsException 当范围超出缓冲区长度时
+     */
+    public static int countEscape(Buffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.length());
+        ByteBuf byteBuf = byteBuf(buffer);
+        if (byteBuf != null && byteBuf.hasArray()) {
+            int base = byteBuf.arrayOffset();
+            return SCANNER.countEscape(byteBuf.array(), base + from, base + to);
+        }
+        byte[] chunk = CHUNK.get();
+        int count = 0;
+        for (int i = from; i < to; i += chunk.length) {
+            int n = Math.min(chunk.length, to - i);
+            buffer.getBytes(i, i + n, chunk, 0);
+            count += SCANNER.countEscape(chunk, 0, n);
+        }
+        return count;
+    }
+}
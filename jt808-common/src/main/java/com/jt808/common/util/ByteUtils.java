@@ -1,5 +1,6 @@
 package com.jt808.common.util;
 
+import com.jt808.common.JT808Constants;
 import io.vertx.core.buffer.Buffer;
 
 /**
@@ -7,6 +8,16 @@ import io.vertx.core.buffer.Buffer;
  */
 public final class ByteUtils {
     
+    /** 10的0~18次幂 */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+    
     private ByteUtils() {
         // 工具类，禁止实例化
     }
@@ -19,11 +30,10 @@ public final class ByteUtils {
      * @return 校验码
      */
     public static byte calculateChecksum(byte[] data, int start, int length) {
-        byte checksum = 0;
-        for (int i = start; i < start + length; i++) {
-            checksum ^= data[i];
+        if (length <= 0) {
+            return 0;
         }
-        return checksum;
+        return ByteScanners.get().xor(data, start, start + length);
     }
     
     /**
@@ -34,59 +44,62 @@ public final class ByteUtils {
      * @return 校验码
      */
     public static byte calculateChecksum(Buffer buffer, int start, int length) {
-        byte checksum = 0;
-        for (int i = start; i < start + length; i++) {
-            checksum ^= buffer.getByte(i);
+        if (length <= 0) {
+            return 0;
         }
-        return checksum;
+        return ByteScanners.xor(buffer, start, start + length);
     }
     
     /**
      * 转义处理
+     * <p>
+     * 先统计需要转义的字节数以确定结果长度，再逐段查找0x7E/0x7D，段内数据整体拷贝
      * @param data 原始数据
      * @return 转义后的数据
      */
     public static Buffer escape(Buffer data) {
-        Buffer result = Buffer.buffer();
-        for (int i = 0; i < data.length(); i++) {
-            byte b = data.getByte(i);
-            if (b == 0x7E) {
-                result.appendByte((byte) 0x7D);
-                result.appendByte((byte) 0x02);
-            } else if (b == 0x7D) {
-                result.appendByte((byte) 0x7D);
-                result.appendByte((byte) 0x01);
-            } else {
-                result.appendByte(b);
-            }
+        int length = data.length();
+        Buffer result = Buffer.buffer(length + ByteScanners.countEscape(data, 0, length));
+        int start = 0;
+        int index;
+        while ((index = ByteScanners.indexOfEscape(data, start, length)) >= 0) {
+            result.appendBuffer(data, start, index - start);
+            result.appendByte(JT808Constants.ESCAPE_FLAG);
+            result.appendByte(data.getByte(index) == JT808Constants.PROTOCOL_FLAG
+                    ? JT808Constants.ESCAPE_7E : JT808Constants.ESCAPE_7D);
+            start = index + 1;
         }
+        result.appendBuffer(data, start, length - start);
         return result;
     }
     
     /**
      * 反转义处理
+     * <p>
+     * 逐段查找转义符0x7D，段内数据整体拷贝；0x7D后不是0x01/0x02时原样保留
      * @param data 转义后的数据
      * @return 原始数据
      */
     public static Buffer unescape(Buffer data) {
-        Buffer result = Buffer.buffer();
-        for (int i = 0; i < data.length(); i++) {
-            byte b = data.getByte(i);
-            if (b == 0x7D && i + 1 < data.length()) {
-                byte next = data.getByte(i + 1);
-                if (next == 0x02) {
-                    result.appendByte((byte) 0x7E);
-                    i++; // 跳过下一个字节
-                } else if (next == 0x01) {
-                    result.appendByte((byte) 0x7D);
-                    i++; // 跳过下一个字节
-                } else {
-                    result.appendByte(b);
-                }
+        int length = data.length();
+        Buffer result = Buffer.buffer(length);
+        int start = 0;
+        int index;
+        while ((index = ByteScanners.indexOf(data, start, length, JT808Constants.ESCAPE_FLAG)) >= 0) {
+            result.appendBuffer(data, start, index - start);
+            byte next = index + 1 < length ? data.getByte(index + 1) : 0;
+            if (next == JT808Constants.ESCAPE_7E) {
+                result.appendByte(JT808Constants.PROTOCOL_FLAG);
+                start = index + 2; // 跳过下一个字节
+            } else if (next == JT808Constants.ESCAPE_7D) {
+                result.appendByte(JT808Constants.ESCAPE_FLAG);
+                start = index + 2; // 跳过下一个字节
             } else {
-                result.appendByte(b);
+                result.appendByte(JT808Constants.ESCAPE_FLAG);
+                start = index + 1;
             }
         }
+        result.appendBuffer(data, start, length - start);
         return result;
     }
     
@@ -140,27 +153,38 @@ public final class ByteUtils {
      * @throws IllegalArgumentException 当长度为非正数或数值超出指定长度范围时
      */
     public static byte[] toBCD(long value, int length) {
+        checkBcdRange(value, length);
+
+        byte[] bcd = new byte[length];
+        long remaining = value;
+        for (int i = length - 1; i >= 0 && remaining != 0; i--) {
+            int low = (int) (remaining % 10);
+            remaining /= 10;
+            int high = (int) (remaining % 10);
+            remaining /= 10;
+            bcd[i] = (byte) ((high << 4) | low);
+        }
+        return bcd;
+    }
+
+    /**
+     * 检查数值能否用指定字节长度的BCD码表示
+     * @param value 数值
+     * @param length 字节长度
+     * @throws IllegalArgumentException 当长度为非正数、数值为负数或超出指定长度范围时
+     */
+    static void checkBcdRange(long value, int length) {
         if (length <= 0) {
             throw new IllegalArgumentException("Length must be positive");
         }
         if (value < 0) {
             throw new IllegalArgumentException("Value must be non-negative");
         }
-        
-        // 检查数值是否超出指定长度的范围
-        long maxValue = (long) Math.pow(10, length * 2) - 1;
-        if (value > maxValue) {
+        // 19位及以上的BCD码可以容纳任意非负long
+        int digits = length * 2;
+        if (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
             throw new IllegalArgumentException("Value " + value + " exceeds maximum for " + length + " bytes BCD");
         }
-        
-        byte[] bcd = new byte[length];
-        String str = String.format("%0" + (length * 2) + "d", value);
-        for (int i = 0; i < length; i++) {
-            int high = Character.getNumericValue(str.charAt(i * 2));
-            int low = Character.getNumericValue(str.charAt(i * 2 + 1));
-            bcd[i] = (byte) ((high << 4) | low);
-        }
-        return bcd;
     }
     
     /**
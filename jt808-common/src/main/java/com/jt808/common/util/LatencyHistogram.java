@@ -0,0 +1,198 @@
+package com.jt808.common.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁延迟直方图（微秒）
+ * <p>
+ * 按HDR直方图的对数-线性方式分桶：小于64微秒的值各占一个桶，更大的值按2的幂分段，每段再均分为32个桶，
+ * 相对误差不超过1/32，最大记录约71分钟（2^32微秒），更大的值计入最后一个桶。
+ * <p>
+ * 桶计数按线程分条（条数为不小于CPU核数的2的幂），每个线程首次记录时才分配所在的分条，
+ * 多个Event Loop并发记录同一个直方图时各自自增自己的分条，不争用同一缓存行；记录不加锁，分条分配后不再分配。
+ * {@link #snapshot()} 合并各分条的计数后计算分位数，与并发的记录之间不保证原子性。
+ * <p>
+ * 服务端处理链的阶段耗时统计和模拟器的应答延迟统计共用本实现。
+ */
+public final class LatencyHistogram {
+
+    /** 每段的有效位数 */
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT >>> 1;
+    /** 可记录的最大值的位数 */
+    private static final int MAX_BITS = 32;
+    private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+    private static final int BUCKET_COUNT = SUB_COUNT + (MAX_BITS - SUB_BITS) * HALF_COUNT;
+    /** 分条数，2的幂 */
+    private static final int STRIPES = Math.min(64, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+    /** 按线程分条的桶计数，首次使用时分配 */
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     * @param nanos 耗时（纳秒），负数按0记录
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0)));
+    }
+
+    /**
+     * 记录一次耗时
+     * @param micros 耗时（微秒），负数按0记录
+     */
+    public void recordMicros(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        stripe().getAndIncrement(indexOf(value));
+        totalMicros.add(value);
+        long max = maxMicros.get();
+        while (value > max && !maxMicros.compareAndSet(max, value)) {
+            max = maxMicros.get();
+        }
+    }
+
+    private AtomicLongArray stripe() {
+        int index = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripe = new AtomicLongArray(BUCKET_COUNT);
+            if (!stripes.compareAndSet(index, null, stripe)) {
+                stripe = stripes.get(index);
+            }
+        }
+        return stripe;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int top = (int) (value >>> shift);
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (top - HALF_COUNT);
+    }
+
+    /**
+     * 桶内的最大值
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_COUNT;
+        int shift = offset / HALF_COUNT + 1;
+        long top = offset % HALF_COUNT + HALF_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    /**
+     * 清空，与并发的记录之间不保证原子性
+     */
+    public void reset() {
+        for (int s = 0; s < STRIPES; s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < BUCKET_COUNT; i++) {
+                    stripe.set(i, 0);
+                }
+            }
+        }
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    /**
+     * 复制当前计数
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int s = 0; s < STRIPES; s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long value = stripe.get(i);
+                counts[i] += value;
+                count += value;
+            }
+        }
+        return new Snapshot(counts, count, totalMicros.sum(), maxMicros.get());
+    }
+
+    /**
+     * 直方图快照，单位微秒
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalMicros;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long count, long totalMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.totalMicros = totalMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count > 0 ? (double) totalMicros / count : 0;
+        }
+
+        public long getMax() {
+            return maxMicros;
+        }
+
+        /**
+         * 分位数
+         * @param percentile 百分位，如99.9
+         * @return 不小于该比例的记录都不超过的值（桶上界，不超过最大值），没有记录时为0
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+
+        public long getP50() {
+            return getValueAtPercentile(50);
+        }
+
+        public long getP99() {
+            return getValueAtPercentile(99);
+        }
+
+        public long getP999() {
+            return getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LatencyHistogram{count=%d, mean=%.1fus, p50=%dus, p99=%dus, p999=%dus, max=%dus}",
+                    count, getMean(), getP50(), getP99(), getP999(), maxMicros);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.jt808.common.util;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * 终端手机号工具类
+ * <p>
+ * 终端手机号在协议中以BCD码传输（2011/2013版本6字节，2019版本10字节）。
+ * 本类把BCD码直接转换为 {@code long} 类型的终端标识（BCD数字按十进制组成的数值），
+ * 并通过直接映射缓存把终端标识转换为规范的手机号字符串（去除前导零），
+ * 缓存命中时编解码过程不分配任何对象。
+ */
+public final class PhoneNumberUtils {
+
+    /** 无效的终端标识（包含非BCD数字或超出long范围） */
+    public static final long INVALID_KEY = -1L;
+
+    /** 缓存槽位数量（2的幂） */
+    private static final int CACHE_SIZE = 1 << 16;
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+
+    /** 终端标识到手机号字符串的直接映射缓存，冲突时直接覆盖 */
+    private static final Entry[] CACHE = new Entry[CACHE_SIZE];
+
+    private PhoneNumberUtils() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 解码BCD码为终端标识
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length BCD字节长度
+     * @return 终端标识，包含非BCD数字或超出long范围时返回 {@link #INVALID_KEY}
+     */
+    public static long decodeKey(byte[] data, int offset, int length) {
+        long key = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int high = (data[i] >> 4) & 0x0F;
+            int low = data[i] & 0x0F;
+            if (high > 9 || low > 9 || key > (Long.MAX_VALUE - 99) / 100) {
+                return INVALID_KEY;
+            }
+            key = key * 100 + high * 10 + low;
+        }
+        return key;
+    }
+
+    /**
+     * 解码缓冲区中的BCD码为终端标识
+     *
+     * @param buffer 缓冲区
+     * @param offset 起始位置
+     * @param length BCD字节长度
+     * @return 终端标识，包含非BCD数字或超出long范围时返回 {@link #INVALID_KEY}
+     */
+    public static long decodeKey(Buffer buffer, int offset, int length) {
+        long key = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = buffer.getByte(i);
+            int high = (b >> 4) & 0x0F;
+            int low = b & 0x0F;
+            if (high > 9 || low > 9 || key > (Long.MAX_VALUE - 99) / 100) {
+                return INVALID_KEY;
+            }
+            key = key * 100 + high * 10 + low;
+        }
+        return key;
+    }
+
+    /**
+     * 将终端标识编码为BCD码追加到缓冲区，左侧补0
+     *
+     * @param buffer 缓冲区
+     * @param key    终端标识
+     * @param length BCD字节长度
+     * @throws IllegalArgumentException 终端标识为负数或超出指定长度范围时
+     */
+    public static void appendBcd(Buffer buffer, long key, int length) {
+        ByteUtils.checkBcdRange(key, length);
+        int start = buffer.length();
+        // 先扩展长度，再从低位向高位回填
+        buffer.setByte(start + length - 1, (byte) 0);
+        long remaining = key;
+        for (int i = start + length - 1; i >= start; i--) {
+            int low = (int) (remaining % 10);
+            remaining /= 10;
+            int high = (int) (remaining % 10);
+            remaining /= 10;
+            buffer.setByte(i, (byte) ((high << 4) | low));
+        }
+    }
+
+    /**
+     * 解析手机号字符串为终端标识
+     *
+     * @param phoneNumber 手机号（纯数字，允许前导零）
+     * @return 终端标识，为null、空串、包含非数字字符或超出long范围时返回 {@link #INVALID_KEY}
+     */
+    public static long parseKey(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.isEmpty()) {
+            return INVALID_KEY;
+        }
+        long key = 0;
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            int digit = phoneNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || key > (Long.MAX_VALUE - digit) / 10) {
+                return INVALID_KEY;
+            }
+            key = key * 10 + digit;
+        }
+        return key;
+    }
+
+    /**
+     * 获取终端标识对应的规范手机号（去除前导零，全零时为"0"）
+     * <p>
+     * 相同终端标识返回同一个字符串实例，缓存命中时不分配对象。
+     *
+     * @param key 终端标识
+     * @return 手机号，终端标识无效时返回null
+     */
+    public static String toPhoneNumber(long key) {
+        if (key < 0) {
+            return null;
+        }
+        int index = (int) ((key * 0x9E3779B97F4A7C15L) >>> 48) & CACHE_MASK;
+        Entry entry = CACHE[index];
+        if (entry != null && entry.key == key) {
+            return entry.phoneNumber;
+        }
+        String phoneNumber = Long.toString(key);
+        // Entry不可变，并发覆盖只会导致多分配一次，不影响正确性
+        CACHE[index] = new Entry(key, phoneNumber);
+        return phoneNumber;
+    }
+
+    /**
+     * 缓存项
+     */
+    private static final class Entry {
+        final long key;
+        final String phoneNumber;
+
+        Entry(long key, String phoneNumber) {
+            this.key = key;
+            this.phoneNumber = phoneNumber;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jt808.common.util;
+
+import com.jt808.common.JT808Constants;
+
+/**
+ * 逐字节扫描的标量实现，在任何JVM上都可用
+ */
+final class ScalarByteScanner implements ByteScanner {
+
+    static final ScalarByteScanner INSTANCE = new ScalarByteScanner();
+
+    private ScalarByteScanner() {
+    }
+
+    @Override
+    public byte xor(byte[] data, int from, int to) {
+        byte checksum = 0;
+        for (int i = from; i < to; i++) {
+            checksum ^= data[i];
+        }
+        return checksum;
+    }
+
+    @Override
+    public int indexOf(byte[] data, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOfEscape(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = data[i];
+            if (b == JT808Constants.PROTOCOL_FLAG || b == JT808Constants.ESCAPE_FLAG) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int countEscape(byte[] data, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            byte b = data[i];
+            if (b == JT808Constants.PROTOCOL_FLAG || b == JT808Constants.ESCAPE_FLAG) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,115 @@
+package com.jt808.common.util;
+
+import com.jt808.common.JT808Constants;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 基于JDK Vector API（jdk.incubator.vector）的SIMD实现
+ * <p>
+ * 异或校验按向量宽度逐段累加后做一次归约；查找和统计转义字节时一次比较一整个向量。
+ * 不足一个向量的尾部按标量处理。本类只能通过 {@link ByteScanners} 反射加载，
+ * 运行时未添加 {@code --add-modules jdk.incubator.vector} 时不会被初始化。
+ */
+final class VectorByteScanner implements ByteScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /** 低于128位的向量没有加速效果 */
+    private static final int MIN_VECTOR_BYTES = 16;
+
+    VectorByteScanner() {
+    }
+
+    /**
+     * 当前平台是否值得使用向量实现
+     *
+     * @return 首选向量宽度不低于128位时返回true
+     */
+    static boolean isSupported() {
+        return SPECIES.vectorByteSize() >= MIN_VECTOR_BYTES;
+    }
+
+    @Override
+    public byte xor(byte[] data, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        byte checksum = 0;
+        if (i < bound) {
+            ByteVector acc = ByteVector.fromArray(SPECIES, data, i);
+            for (i += SPECIES.length(); i < bound; i += SPECIES.length()) {
+                acc = acc.lanewise(VectorOperators.XOR, ByteVector.fromArray(SPECIES, data, i));
+            }
+            checksum = acc.reduceLanes(VectorOperators.XOR);
+        }
+        for (; i < to; i++) {
+            checksum ^= data[i];
+        }
+        return checksum;
+    }
+
+    @Override
+    public int indexOf(byte[] data, int from, int to, byte value) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> mask = ByteVector.fromArray(SPECIES, data, i).eq(value);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOfEscape(byte[] data, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> mask = escapeMask(ByteVector.fromArray(SPECIES, data, i));
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            byte b = data[i];
+            if (b == JT808Constants.PROTOCOL_FLAG || b == JT808Constants.ESCAPE_FLAG) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int countEscape(byte[] data, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        int count = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            count += escapeMask(ByteVector.fromArray(SPECIES, data, i)).trueCount();
+        }
+        for (; i < to; i++) {
+            byte b = data[i];
+            if (b == JT808Constants.PROTOCOL_FLAG || b == JT808Constants.ESCAPE_FLAG) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static VectorMask<Byte> escapeMask(ByteVector vector) {
+        return vector.eq(JT808Constants.PROTOCOL_FLAG).or(vector.eq(JT808Constants.ESCAPE_FLAG));
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
@@ -0,0 +1,137 @@
+package com.jt808.common.util;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.buffer.impl.BufferImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ByteScanner测试
+ * 所有可用实现（标量、向量）与逐字节的参考结果逐一比对，覆盖向量主循环与尾部处理的各种长度
+ */
+class ByteScannerTest {
+
+    private static final int[] LENGTHS = {0, 1, 15, 16, 17, 31, 32, 33, 63, 64, 65, 100, 1023, 1024, 1025};
+
+    private static List<ByteScanner> scanners() {
+        List<ByteScanner> scanners = new ArrayList<>();
+        scanners.add(ByteScanners.scalar());
+        ByteScanner vector = ByteScanners.vector();
+        if (vector != null) {
+            scanners.add(vector);
+        }
+        return scanners;
+    }
+
+    private static byte[] randomData(int length, long seed) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    void testXorMatchesReference() {
+        for (ByteScanner scanner : scanners()) {
+            for (int length : LENGTHS) {
+                byte[] data = randomData(length + 3, length);
+                byte expected = 0;
+                for (int i = 3; i < data.length; i++) {
+                    expected ^= data[i];
+                }
+                assertEquals(expected, scanner.xor(data, 3, data.length),
+                        scanner.name() + " length=" + length);
+            }
+        }
+    }
+
+    @Test
+    void testIndexOfEscapeFindsEveryPosition() {
+        for (ByteScanner scanner : scanners()) {
+            for (int length : LENGTHS) {
+                for (int pos = 0; pos < length; pos += Math.max(1, length / 7)) {
+                    byte[] data = new byte[length];
+                    data[pos] = (pos & 1) == 0 ? (byte) 0x7E : (byte) 0x7D;
+                    assertEquals(pos, scanner.indexOfEscape(data, 0, length),
+                            scanner.name() + " length=" + length + " pos=" + pos);
+                    // 起始位置越过目标字节时找不到
+                    assertEquals(-1, scanner.indexOfEscape(data, pos + 1, length));
+                }
+                assertEquals(-1, scanner.indexOfEscape(new byte[length], 0, length));
+            }
+        }
+    }
+
+    @Test
+    void testIndexOfSingleByte() {
+        for (ByteScanner scanner : scanners()) {
+            byte[] data = new byte[100];
+            data[10] = 0x7E;
+            data[70] = 0x7D;
+            assertEquals(70, scanner.indexOf(data, 0, data.length, (byte) 0x7D), scanner.name());
+            assertEquals(10, scanner.indexOf(data, 0, data.length, (byte) 0x7E), scanner.name());
+            assertEquals(-1, scanner.indexOf(data, 0, 70, (byte) 0x7D), scanner.name());
+        }
+    }
+
+    @Test
+    void testCountEscapeMatchesReference() {
+        for (ByteScanner scanner : scanners()) {
+            for (int length : LENGTHS) {
+                byte[] data = randomData(length, length * 31L);
+                int expected = 0;
+                for (byte b : data) {
+                    if (b == 0x7E || b == 0x7D) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, scanner.countEscape(data, 0, length),
+                        scanner.name() + " length=" + length);
+            }
+        }
+    }
+
+    @Test
+    void testBufferMethodsOnHeapSliceAndDirectBuffer() {
+        byte[] payload = randomData(3000, 808);
+        payload[2500] = 0x7D;
+        Buffer heap = Buffer.buffer(payload);
+        Buffer slice = Buffer.buffer(new byte[]{1, 2, 3}).appendBytes(payload).slice(3, 3 + payload.length);
+        Buffer direct = BufferImpl.buffer(Unpooled.directBuffer(payload.length).writeBytes(payload));
+        // 缓冲区索引与底层ByteBuf的读索引无关
+        Buffer readerIndexed = BufferImpl.buffer(Unpooled.wrappedBuffer(payload).readerIndex(7));
+
+        byte expectedXor = ByteScanners.scalar().xor(payload, 5, 2900);
+        int expectedIndex = ByteScanners.scalar().indexOfEscape(payload, 5, 2900);
+        int expectedCount = ByteScanners.scalar().countEscape(payload, 5, 2900);
+        int expectedFlag = ByteScanners.scalar().indexOf(payload, 2000, 2900, (byte) 0x7D);
+        for (Buffer buffer : List.of(heap, slice, direct, readerIndexed)) {
+            assertEquals(expectedXor, ByteScanners.xor(buffer, 5, 2900));
+            assertEquals(expectedIndex, ByteScanners.indexOfEscape(buffer, 5, 2900));
+            assertEquals(expectedCount, ByteScanners.countEscape(buffer, 5, 2900));
+            assertEquals(expectedFlag, ByteScanners.indexOf(buffer, 2000, 2900, (byte) 0x7D));
+        }
+    }
+
+    @Test
+    void testBufferMethodsRejectOutOfRange() {
+        Buffer buffer = Buffer.buffer(new byte[]{1, 2, 3});
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteScanners.xor(buffer, 0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteScanners.countEscape(buffer, 2, 1));
+    }
+
+    @Test
+    void testVectorSelectedWhenModuleLoaded() {
+        boolean moduleLoaded = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        if (!moduleLoaded) {
+            assertFalse(ByteScanners.isVectorized());
+        }
+        assertEquals(ByteScanners.vector() != null, ByteScanners.isVectorized(),
+                "selected scanner: " + ByteScanners.get().name());
+    }
+}
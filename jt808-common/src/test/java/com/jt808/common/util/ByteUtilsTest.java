@@ -62,7 +62,41 @@ class ByteUtilsTest {
         
         assertArrayEquals(original.getBytes(), unescaped.getBytes());
     }
-    
+
+    @Test
+    void testEscapeAndUnescapeLargePayload() {
+        // 测试超过向量宽度的数据（模拟多媒体数据包），转义字节分布在段首、段中和段尾
+        byte[] payload = new byte[1024];
+        new java.util.Random(808).nextBytes(payload);
+        payload[0] = 0x7E;
+        payload[511] = 0x7D;
+        payload[1023] = 0x7E;
+        Buffer original = Buffer.buffer(payload);
+
+        Buffer escaped = ByteUtils.escape(original);
+        int escapeCount = 0;
+        for (byte b : payload) {
+            if (b == 0x7E || b == 0x7D) {
+                escapeCount++;
+            }
+        }
+        assertEquals(payload.length + escapeCount, escaped.length());
+        for (int i = 0; i < escaped.length(); i++) {
+            assertNotEquals((byte) 0x7E, escaped.getByte(i));
+        }
+        assertArrayEquals(payload, ByteUtils.unescape(escaped).getBytes());
+    }
+
+    @Test
+    void testUnescapeKeepsInvalidSequence() {
+        // 测试无效转义序列和末尾的转义符原样保留
+        Buffer escaped = Buffer.buffer(new byte[]{0x7D, 0x03, 0x7D, 0x7D, 0x02, 0x7D});
+        Buffer unescaped = ByteUtils.unescape(escaped);
+
+        byte[] expected = {0x7D, 0x03, 0x7D, 0x7E, 0x7D};
+        assertArrayEquals(expected, unescaped.getBytes());
+    }
+
     @Test
     void testBytesToHex() {
         // 测试字节数组转十六进制字符串
@@ -157,4 +191,18 @@ class ByteUtilsTest {
         long zeroValue = ByteUtils.fromBCD(zeroBcd);
         assertEquals(0L, zeroValue);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testToBCDRange() {
+        // 恰好填满指定长度
+        assertArrayEquals(new byte[]{(byte) 0x99, (byte) 0x99}, ByteUtils.toBCD(9999, 2));
+        assertThrows(IllegalArgumentException.class, () -> ByteUtils.toBCD(10000, 2));
+        
+        // 10字节BCD可容纳任意非负long
+        byte[] bcd = ByteUtils.toBCD(Long.MAX_VALUE, 10);
+        assertEquals(Long.MAX_VALUE, ByteUtils.fromBCD(bcd));
+        
+        assertThrows(IllegalArgumentException.class, () -> ByteUtils.toBCD(-1, 6));
+        assertThrows(IllegalArgumentException.class, () -> ByteUtils.toBCD(1, 0));
+    }
+}
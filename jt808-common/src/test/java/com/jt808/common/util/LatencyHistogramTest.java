@@ -0,0 +1,92 @@
+package com.jt808.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟直方图测试
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsAreContiguous() {
+        // 每个值落在上界不小于它的桶中，桶的上界随序号递增
+        long previousHighest = -1;
+        for (long value = 0; value < 1 << 16; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueOf(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueOf(index - 1) < value);
+            }
+            previousHighest = Math.max(previousHighest, LatencyHistogram.highestValueOf(index));
+        }
+        assertEquals((1L << 16) - 1, previousHighest);
+    }
+
+    @Test
+    void testRelativeError() {
+        for (long value = 1; value < (1L << 30); value = value * 3 + 1) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= Math.max(1, value / 32), "value " + value + " -> " + highest);
+        }
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.recordMicros(i % 100);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+
+        // 各线程的分条在快照时合并
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(threads * 10_000L, snapshot.getCount());
+        assertEquals(99, snapshot.getMax());
+        assertEquals(49.5, snapshot.getMean(), 0.01);
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordMicros(i);
+        }
+        histogram.recordNanos(250_000_000L);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1001, snapshot.getCount());
+        assertEquals(250_000, snapshot.getMax());
+        // 相对误差不超过1/32
+        assertEquals(501, snapshot.getP50(), 501 / 32.0);
+        assertEquals(991, snapshot.getP99(), 991 / 32.0);
+        assertEquals(1000, snapshot.getP999(), 1000 / 32.0);
+        assertEquals(250_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getP99());
+
+        histogram.recordMicros(-5);
+        histogram.recordMicros(Long.MAX_VALUE);
+        assertEquals(2, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getP50());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+    }
+}
@@ -0,0 +1,94 @@
+package com.jt808.common.util;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PhoneNumberUtils 测试
+ */
+class PhoneNumberUtilsTest {
+
+    @Test
+    void testDecodeKey_sixBytes() {
+        byte[] bcd = {0x01, 0x38, 0x00, 0x13, (byte) 0x80, 0x00};
+        assertEquals(13800138000L, PhoneNumberUtils.decodeKey(bcd, 0, 6));
+        assertEquals(13800138000L, PhoneNumberUtils.decodeKey(Buffer.buffer(bcd), 0, 6));
+    }
+
+    @Test
+    void testDecodeKey_withOffset() {
+        byte[] data = {0x7E, 0x12, 0x34, 0x56, 0x78, (byte) 0x90, 0x12, 0x7E};
+        assertEquals(123456789012L, PhoneNumberUtils.decodeKey(data, 1, 6));
+    }
+
+    @Test
+    void testDecodeKey_tenBytes() {
+        byte[] bcd = {0x00, 0x00, 0x00, 0x00, 0x01, 0x38, 0x00, 0x13, (byte) 0x80, 0x00};
+        assertEquals(13800138000L, PhoneNumberUtils.decodeKey(bcd, 0, 10));
+    }
+
+    @Test
+    void testDecodeKey_invalidNibble() {
+        byte[] bcd = {0x01, 0x38, 0x00, 0x13, (byte) 0x80, 0x0F};
+        assertEquals(PhoneNumberUtils.INVALID_KEY, PhoneNumberUtils.decodeKey(bcd, 0, 6));
+    }
+
+    @Test
+    void testDecodeKey_overflow() {
+        byte[] bcd = new byte[10];
+        java.util.Arrays.fill(bcd, (byte) 0x99);
+        assertEquals(PhoneNumberUtils.INVALID_KEY, PhoneNumberUtils.decodeKey(bcd, 0, 10));
+    }
+
+    @Test
+    void testAppendBcd() {
+        Buffer buffer = Buffer.buffer();
+        buffer.appendByte((byte) 0x7E);
+        PhoneNumberUtils.appendBcd(buffer, 13800138000L, 6);
+
+        assertEquals(7, buffer.length());
+        assertArrayEquals(ByteUtils.toBCD(13800138000L, 6), buffer.getBytes(1, 7));
+    }
+
+    @Test
+    void testAppendBcd_zero() {
+        Buffer buffer = Buffer.buffer();
+        PhoneNumberUtils.appendBcd(buffer, 0, 6);
+        assertArrayEquals(new byte[6], buffer.getBytes());
+    }
+
+    @Test
+    void testAppendBcd_outOfRange() {
+        Buffer buffer = Buffer.buffer();
+        assertThrows(IllegalArgumentException.class, () -> PhoneNumberUtils.appendBcd(buffer, 1_000_000_000_000L, 6));
+        assertThrows(IllegalArgumentException.class, () -> PhoneNumberUtils.appendBcd(buffer, -1, 6));
+        assertEquals(0, buffer.length());
+    }
+
+    @Test
+    void testParseKey() {
+        assertEquals(13800138000L, PhoneNumberUtils.parseKey("13800138000"));
+        assertEquals(13800138000L, PhoneNumberUtils.parseKey("013800138000"));
+        assertEquals(0, PhoneNumberUtils.parseKey("0"));
+        assertEquals(PhoneNumberUtils.INVALID_KEY, PhoneNumberUtils.parseKey(null));
+        assertEquals(PhoneNumberUtils.INVALID_KEY, PhoneNumberUtils.parseKey(""));
+        assertEquals(PhoneNumberUtils.INVALID_KEY, PhoneNumberUtils.parseKey("138-0013"));
+        assertEquals(PhoneNumberUtils.INVALID_KEY, PhoneNumberUtils.parseKey("99999999999999999999"));
+    }
+
+    @Test
+    void testToPhoneNumber_canonical() {
+        assertEquals("13800138000", PhoneNumberUtils.toPhoneNumber(13800138000L));
+        assertEquals("0", PhoneNumberUtils.toPhoneNumber(0));
+        assertNull(PhoneNumberUtils.toPhoneNumber(PhoneNumberUtils.INVALID_KEY));
+    }
+
+    @Test
+    void testToPhoneNumber_interned() {
+        String first = PhoneNumberUtils.toPhoneNumber(13912345678L);
+        String second = PhoneNumberUtils.toPhoneNumber(13912345678L);
+        assertSame(first, second);
+    }
+}
@@ -2,9 +2,12 @@ package com.jt808.protocol.codec;
 
 import com.jt808.common.JT808Constants;
 import com.jt808.common.exception.ProtocolException;
-import com.jt808.common.util.ByteUtils;
+import com.jt808.common.util.ByteScanner;
+import com.jt808.common.util.ByteScanners;
+import com.jt808.common.util.PhoneNumberUtils;
 import com.jt808.protocol.factory.JT808MessageFactory;
 import com.jt808.protocol.message.*;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 
 /**
@@ -12,8 +15,15 @@ import io.vertx.core.buffer.Buffer;
  */
 public class JT808Decoder {
 
+    /** 线程私有的反转义临时数组，按单帧最大长度预分配 */
+    private static final ThreadLocal<byte[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new byte[JT808Constants.MAX_FRAME_LENGTH]);
+
     /**
      * 解码JT808消息
+     * <p>
+     * 转义数据直接反转义到线程私有的临时数组中并计算异或校验，消息头从临时数组中解析，
+     * 最后只为消息体拷贝一次。
      *
      * @param buffer 原始数据
      * @return 解码后的消息
@@ -25,66 +35,135 @@ public class JT808Decoder {
         }
 
         // 检查标识位
+        int frameLength = buffer.length();
         if (buffer.getByte(0) != JT808Constants.PROTOCOL_FLAG ||
-                buffer.getByte(buffer.length() - 1) != JT808Constants.PROTOCOL_FLAG) {
+                buffer.getByte(frameLength - 1) != JT808Constants.PROTOCOL_FLAG) {
             throw new ProtocolException("消息标识位错误");
         }
 
-        // 去除标识位
-        Buffer messageBuffer = buffer.getBuffer(1, buffer.length() - 1);
+        // 反转义后长度不会超过去除标识位后的长度
+        byte[] data = scratch(frameLength - 2);
 
-        // 反转义处理
-        Buffer unescapedBuffer = ByteUtils.unescape(messageBuffer);
+        // 反转义并计算校验码（包含校验码本身在内的全部字节异或结果应为0）
+        long result;
+        ByteBuf byteBuf = ByteScanners.byteBuf(buffer);
+        if (byteBuf != null && byteBuf.hasArray()) {
+            int base = byteBuf.arrayOffset();
+            result = unescape(byteBuf.array(), base + 1, base + frameLength - 1, data);
+        } else {
+            // 直接内存等无底层数组的缓冲区先整体拷贝，再在临时数组内原地反转义
+            buffer.getBytes(1, frameLength - 1, data, 0);
+            result = unescape(data, 0, frameLength - 2, data);
+        }
+        int length = (int) (result >>> 8);
 
-        if (unescapedBuffer.length() < 12) {
+        if (length < 12) {
             throw new ProtocolException("消息长度不足");
         }
 
         // 分离校验码
-        int messageLength = unescapedBuffer.length() - 1;
-        byte receivedChecksum = unescapedBuffer.getByte(messageLength);
-        Buffer dataBuffer = unescapedBuffer.getBuffer(0, messageLength);
-
-        // 验证校验码
-        byte calculatedChecksum = ByteUtils.calculateChecksum(dataBuffer, 0, dataBuffer.length());
-        if (receivedChecksum != calculatedChecksum) {
+        int messageLength = length - 1;
+        byte receivedChecksum = data[messageLength];
+        if ((byte) result != 0) {
             throw new ProtocolException("校验码错误");
         }
 
         // 解码消息头
-        JT808Header header = decodeHeader(dataBuffer);
+        JT808Header header = decodeHeader(data, messageLength);
 
         // 计算消息头长度
         int headerLength = calculateHeaderLength(header);
 
-        // 解码消息体
-        Buffer bodyBuffer = null;
-        if (dataBuffer.length() > headerLength) {
-            bodyBuffer = dataBuffer.getBuffer(headerLength, dataBuffer.length());
-        }
-
         // 创建消息对象（这里需要根据消息ID创建具体的消息类型）
         JT808Message message = createMessage(header.getMessageId());
         message.setHeader(header);
         message.setChecksum(receivedChecksum);
 
-        // 解码消息体
-        if (bodyBuffer != null && bodyBuffer.length() > 0) {
-            message.decodeBody(bodyBuffer);
+        // 解码消息体，消息对象可能持有消息体，因此拷贝到独立的缓冲区。
+        // 分包消息的消息体只是完整消息体的一段，不能单独解码，原样保存在 body 中，由重组方在收齐后统一解码
+        if (messageLength > headerLength) {
+            int bodyLength = messageLength - headerLength;
+            Buffer bodyBuffer = Buffer.buffer(bodyLength);
+            bodyBuffer.appendBytes(data, headerLength, bodyLength);
+            if (header.isSubpackage()) {
+                message.setBody(bodyBuffer);
+            } else {
+                message.decodeBody(bodyBuffer);
+            }
         }
 
         return message;
     }
 
+    /**
+     * 获取线程私有的临时数组
+     *
+     * @param minLength 最小长度
+     * @return 临时数组
+     */
+    private static byte[] scratch(int minLength) {
+        byte[] data = SCRATCH.get();
+        if (data.length >= minLength) {
+            return data;
+        }
+        data = new byte[minLength];
+        // 超过单帧上限的异常数据不缓存，避免线程长期持有大数组
+        if (minLength <= JT808Constants.MAX_FRAME_LENGTH) {
+            SCRATCH.set(data);
+        }
+        return data;
+    }
+
+    /**
+     * 反转义堆内数组中的数据
+     * <p>
+     * 逐段查找转义符0x7D，段内数据整体拷贝，最后对反转义结果整体计算异或值；
+     * 查找和异或均由 {@link ByteScanners#get()} 选定的实现完成（支持时为SIMD）。
+     * 反转义后数据只会变短，因此源数组和目标数组可以是同一个数组（原地反转义）。
+     *
+     * @param src    转义后的数据
+     * @param from   起始位置（包含）
+     * @param to     结束位置（不包含）
+     * @param target 目标数组
+     * @return 高位为反转义后的长度，低8位为全部字节的异或值
+     */
+    private static long unescape(byte[] src, int from, int to, byte[] target) {
+        ByteScanner scanner = ByteScanners.get();
+        int length = 0;
+        int i = from;
+        int index;
+        while ((index = scanner.indexOf(src, i, to, JT808Constants.ESCAPE_FLAG)) >= 0) {
+            System.arraycopy(src, i, target, length, index - i);
+            length += index - i;
+            byte b = JT808Constants.ESCAPE_FLAG;
+            i = index + 1;
+            if (i < to) {
+                byte next = src[i];
+                if (next == JT808Constants.ESCAPE_7E) {
+                    b = JT808Constants.PROTOCOL_FLAG;
+                    i++;
+                } else if (next == JT808Constants.ESCAPE_7D) {
+                    i++;
+                }
+            }
+            target[length++] = b;
+        }
+        System.arraycopy(src, i, target, length, to - i);
+        length += to - i;
+        byte checksum = scanner.xor(target, 0, length);
+        return ((long) length << 8) | (checksum & 0xFF);
+    }
+
     /**
      * 解码消息头
      *
-     * @param buffer 数据缓冲区
+     * @param data   反转义后的数据
+     * @param length 数据长度（不含校验码）
      * @return 消息头
      * @throws ProtocolException 协议异常
      */
-    private JT808Header decodeHeader(Buffer buffer) throws ProtocolException {
-        if (buffer.length() < 12) {
+    private JT808Header decodeHeader(byte[] data, int length) throws ProtocolException {
+        if (length < 12) {
             throw new ProtocolException("消息头长度不足");
         }
 
@@ -92,55 +171,75 @@ public class JT808Decoder {
         int offset = 0;
 
         // 消息ID（2字节）
-        header.setMessageId(buffer.getUnsignedShort(offset));
+        header.setMessageId(getUnsignedShort(data, offset));
         offset += 2;
 
         // 消息体属性（2字节）
-        header.setMessageProperty(buffer.getUnsignedShort(offset));
+        header.setMessageProperty(getUnsignedShort(data, offset));
         offset += 2;
 
         // 协议版本号（1字节，2019版本才有）
         if (isVersion2019(header.getMessageProperty())) {
-            header.setProtocolVersion(buffer.getByte(offset));
+            header.setProtocolVersion(data[offset]);
             offset += 1;
         }
 
         // 终端手机号（6字节BCD码）
-        byte[] phoneBcd = new byte[6];
-        buffer.getBytes(offset, offset + 6, phoneBcd);
-        // 解码BCD并保持12位格式（保留前导零）
-        StringBuilder phoneBuilder = new StringBuilder();
-        for (byte b : phoneBcd) {
-            int high = (b >> 4) & 0x0F;
-            int low = b & 0x0F;
-            phoneBuilder.append(high).append(low);
-        }
-        // 移除前导零，但保留至少一位数字
-        String phoneStr = phoneBuilder.toString();
-        phoneStr = phoneStr.replaceAll("^0+", ""); // 移除开头的0
-        if (phoneStr.isEmpty()) {
-            phoneStr = "0";
-        }
-        header.setPhoneNumber(phoneStr);
+        decodePhoneNumber(header, data, offset);
         offset += 6;
 
         // 消息流水号（2字节）
-        header.setSerialNumber(buffer.getUnsignedShort(offset));
+        header.setSerialNumber(getUnsignedShort(data, offset));
         offset += 2;
 
         // 消息包封装项（分包时才有，4字节）
         if (header.isSubpackage()) {
-            if (buffer.length() < offset + 4) {
+            if (length < offset + 4) {
                 throw new ProtocolException("分包信息长度不足");
             }
-            int totalPackages = buffer.getUnsignedShort(offset);
-            int packageSequence = buffer.getUnsignedShort(offset + 2);
+            int totalPackages = getUnsignedShort(data, offset);
+            int packageSequence = getUnsignedShort(data, offset + 2);
             header.setPackageInfo(new JT808Header.PackageInfo(totalPackages, packageSequence));
         }
 
         return header;
     }
 
+    /**
+     * 解码6字节BCD手机号，移除前导零但保留至少一位数字
+     *
+     * @param header 消息头
+     * @param data   数据
+     * @param offset 起始位置
+     */
+    private static void decodePhoneNumber(JT808Header header, byte[] data, int offset) {
+        long terminalKey = PhoneNumberUtils.decodeKey(data, offset, 6);
+        if (terminalKey != PhoneNumberUtils.INVALID_KEY) {
+            header.setTerminalKey(terminalKey);
+        } else {
+            header.setPhoneNumber(decodeInvalidPhoneNumber(data, offset));
+        }
+    }
+
+    /**
+     * 解码含非法BCD半字节的手机号，半字节按十进制数值输出
+     */
+    private static String decodeInvalidPhoneNumber(byte[] data, int offset) {
+        StringBuilder phoneBuilder = new StringBuilder(24);
+        for (int i = 0; i < 6; i++) {
+            phoneBuilder.append((data[offset + i] >> 4) & 0x0F).append(data[offset + i] & 0x0F);
+        }
+        int start = 0;
+        while (start < phoneBuilder.length() - 1 && phoneBuilder.charAt(start) == '0') {
+            start++;
+        }
+        return phoneBuilder.substring(start);
+    }
+
+    private static int getUnsignedShort(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+
     /**
      * 计算消息头长度
      *
@@ -1,16 +1,30 @@
 package com.jt808.protocol.codec;
 
 import com.jt808.common.JT808Constants;
+import com.jt808.common.util.ByteScanners;
 import com.jt808.common.util.ByteUtils;
+import com.jt808.common.util.PhoneNumberUtils;
 import com.jt808.protocol.message.JT808Header;
 import com.jt808.protocol.message.JT808Message;
 import io.vertx.core.buffer.Buffer;
 
 /**
  * JT808消息编码器
+ * <p>
+ * 标识位、消息头、消息体和校验码依次写入同一个按预估长度分配的输出缓冲区，
+ * 需要转义时在该缓冲区内从后向前原地展开，不再产生中间缓冲区。
  */
 public class JT808Encoder {
 
+    /** 消息体属性在输出缓冲区中的位置（起始标识位1 + 消息ID2） */
+    private static final int PROPERTY_OFFSET = 3;
+
+    /** 消息体长度未知时的预估值 */
+    private static final int DEFAULT_BODY_CAPACITY = 64;
+
+    /** 为少量转义字节预留的额外容量 */
+    private static final int ESCAPE_RESERVE = 8;
+
     /**
      * 编码JT808消息
      *
@@ -18,52 +32,102 @@ public class JT808Encoder {
      * @return 编码后的数据
      */
     public Buffer encode(JT808Message message) {
-        Buffer buffer = Buffer.buffer();
+        JT808Header header = message.getHeader();
 
-        // 编码消息体
-        Buffer body = message.encodeBody();
-        if (body == null) {
-            body = Buffer.buffer();
-        }
+        // 按消息体预估长度分配输出缓冲区：标识位2 + 消息头 + 消息体 + 校验码1
+        int estimatedBodyLength = message.getEncodedBodyLength();
+        int capacity = 2 + headerLength(header)
+                + (estimatedBodyLength >= 0 ? estimatedBodyLength : DEFAULT_BODY_CAPACITY)
+                + 1 + ESCAPE_RESERVE;
+        Buffer buffer = Buffer.buffer(capacity);
 
-        // 更新消息头中的消息体长度
-        JT808Header header = message.getHeader();
-        header.setBodyLength(body.length());
+        // 起始标识位
+        buffer.appendByte(JT808Constants.PROTOCOL_FLAG);
 
-        // 编码消息头
-        Buffer headerBuffer = encodeHeader(header);
+        // 编码消息头，消息体长度在消息体写入后回填
+        encodeHeader(header, buffer);
+        int bodyStart = buffer.length();
 
-        // 组装消息（不包括标识位和校验码）
-        Buffer messageBuffer = Buffer.buffer();
-        messageBuffer.appendBuffer(headerBuffer);
-        messageBuffer.appendBuffer(body);
+        // 编码消息体
+        message.encodeBody(buffer);
+
+        // 更新消息头中的消息体长度
+        header.setBodyLength(buffer.length() - bodyStart);
+        buffer.setUnsignedShort(PROPERTY_OFFSET, header.getMessageProperty());
 
-        // 计算校验码
-        byte checksum = ByteUtils.calculateChecksum(messageBuffer, 0, messageBuffer.length());
+        // 计算校验码并统计需要转义的字节数
+        int end = buffer.length();
+        byte checksum = ByteScanners.xor(buffer, 1, end);
+        int escapeCount = ByteScanners.countEscape(buffer, 1, end);
 
         // 添加校验码
-        messageBuffer.appendByte(checksum);
+        buffer.appendByte(checksum);
+        if (checksum == JT808Constants.PROTOCOL_FLAG || checksum == JT808Constants.ESCAPE_FLAG) {
+            escapeCount++;
+        }
 
         // 转义处理
-        Buffer escapedBuffer = ByteUtils.escape(messageBuffer);
+        if (escapeCount > 0) {
+            escapeInPlace(buffer, escapeCount);
+        }
 
-        // 添加标识位
-        buffer.appendByte(JT808Constants.PROTOCOL_FLAG);
-        buffer.appendBuffer(escapedBuffer);
+        // 结束标识位
         buffer.appendByte(JT808Constants.PROTOCOL_FLAG);
 
         return buffer;
     }
 
     /**
-     * 编码消息头
+     * 在缓冲区内原地转义（不含起始标识位），从后向前展开，避免覆盖未处理的字节
+     *
+     * @param buffer      缓冲区
+     * @param escapeCount 需要转义的字节数
+     */
+    private void escapeInPlace(Buffer buffer, int escapeCount) {
+        int read = buffer.length() - 1;
+        int write = read + escapeCount;
+
+        // 扩展缓冲区长度
+        buffer.setByte(write, (byte) 0);
+
+        while (read >= 1 && write > read) {
+            byte b = buffer.getByte(read--);
+            if (b == JT808Constants.PROTOCOL_FLAG) {
+                buffer.setByte(write--, JT808Constants.ESCAPE_7E);
+                buffer.setByte(write--, JT808Constants.ESCAPE_FLAG);
+            } else if (b == JT808Constants.ESCAPE_FLAG) {
+                buffer.setByte(write--, JT808Constants.ESCAPE_7D);
+                buffer.setByte(write--, JT808Constants.ESCAPE_FLAG);
+            } else {
+                buffer.setByte(write--, b);
+            }
+        }
+    }
+
+    /**
+     * 计算消息头长度
      *
      * @param header 消息头
-     * @return 编码后的消息头
+     * @return 消息头长度
      */
-    private Buffer encodeHeader(JT808Header header) {
-        Buffer buffer = Buffer.buffer();
+    private int headerLength(JT808Header header) {
+        int length = 12;
+        if (header.getProtocolVersion() != 0) {
+            length += 1;
+        }
+        if (header.isSubpackage() && header.getPackageInfo() != null) {
+            length += 4;
+        }
+        return length;
+    }
 
+    /**
+     * 编码消息头
+     *
+     * @param header 消息头
+     * @param buffer 输出缓冲区
+     */
+    private void encodeHeader(JT808Header header, Buffer buffer) {
         // 消息ID（2字节）
         buffer.appendUnsignedShort(header.getMessageId());
 
@@ -75,13 +139,16 @@ public class JT808Encoder {
             buffer.appendByte(header.getProtocolVersion());
         }
 
-        // 终端手机号（6字节BCD码）
+        // 终端手机号（6字节BCD码，左侧补0）
         String phoneNumber = header.getPhoneNumber();
         if (phoneNumber != null && phoneNumber.length() <= 12) {
-            // 左侧补齐到12位（用0填充）
-            phoneNumber = String.format("%012d", Long.parseLong(phoneNumber));
-            byte[] phoneBcd = ByteUtils.toBCD(Long.parseLong(phoneNumber), 6);
-            buffer.appendBytes(phoneBcd);
+            long terminalKey = header.getTerminalKey();
+            if (terminalKey != PhoneNumberUtils.INVALID_KEY) {
+                PhoneNumberUtils.appendBcd(buffer, terminalKey, 6);
+            } else {
+                // 非纯数字的手机号，沿用原有解析逻辑（抛出格式异常）
+                buffer.appendBytes(ByteUtils.toBCD(Long.parseLong(phoneNumber), 6));
+            }
         } else {
             // 默认填充0
             buffer.appendBytes(new byte[6]);
@@ -96,7 +163,5 @@ public class JT808Encoder {
             buffer.appendUnsignedShort(packageInfo.getTotalPackages());
             buffer.appendUnsignedShort(packageInfo.getPackageSequence());
         }
-
-        return buffer;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package com.jt808.protocol.codec;
+
+import com.jt808.common.JT808Constants;
+import com.jt808.common.util.ByteScanners;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * JT808 TCP流分帧器
+ * <p>
+ * TCP是字节流，一次读取可能包含多帧（粘包），也可能只有半帧（拆包）。
+ * 本类按0x7E标识位增量扫描，每个连接持有一个实例：
+ * <ul>
+ *     <li>完整帧以 {@link Buffer#slice(int, int)} 零拷贝切片的形式交给帧处理器，切片包含首尾标识位</li>
+ *     <li>未完成的半帧保留在累积缓冲区中，后续数据直接追加，已累积的字节不会被重复拷贝或重复扫描</li>
+ *     <li>超过最大帧长度的数据被丢弃，直到下一个标识位重新同步</li>
+ * </ul>
+ * 非线程安全，应在连接所属的事件循环中使用。
+ */
+public class JT808FrameDecoder implements Handler<Buffer> {
+
+    private static final byte FLAG = JT808Constants.PROTOCOL_FLAG;
+
+    /** 累积缓冲区最小初始容量 */
+    private static final int MIN_CUMULATION_CAPACITY = 256;
+
+    private final int maxFrameLength;
+    private Handler<Buffer> frameHandler;
+
+    /** 未完成帧的累积缓冲区，为null表示没有残留数据 */
+    private Buffer cumulation;
+
+    /** 当前帧起始标识位在累积缓冲区中的位置，-1表示不在帧内 */
+    private int frameStart = -1;
+
+    /** 下一次扫描的起始位置 */
+    private int scanIndex;
+
+    /** 是否正在丢弃超长帧 */
+    private boolean discarding;
+
+    // 统计信息
+    private long frameCount;
+    private long oversizeFrameCount;
+    private long discardedBytes;
+
+    public JT808FrameDecoder() {
+        this(JT808Constants.MAX_FRAME_LENGTH);
+    }
+
+    public JT808FrameDecoder(int maxFrameLength) {
+        this(maxFrameLength, null);
+    }
+
+    public JT808FrameDecoder(int maxFrameLength, Handler<Buffer> frameHandler) {
+        if (maxFrameLength < 2) {
+            throw new IllegalArgumentException("maxFrameLength must be at least 2");
+        }
+        this.maxFrameLength = maxFrameLength;
+        this.frameHandler = frameHandler;
+    }
+
+    /**
+     * 设置帧处理器
+     *
+     * @param frameHandler 完整帧处理器，参数为包含首尾0x7E的帧切片
+     * @return 当前分帧器
+     */
+    public JT808FrameDecoder handler(Handler<Buffer> frameHandler) {
+        this.frameHandler = frameHandler;
+        return this;
+    }
+
+    /**
+     * 处理一次读取到的数据
+     *
+     * @param chunk 读取到的数据
+     */
+    @Override
+    public void handle(Buffer chunk) {
+        if (chunk == null || chunk.length() == 0) {
+            return;
+        }
+
+        Buffer data;
+        if (cumulation == null) {
+            // 没有残留数据时直接在读取缓冲区上扫描，完整帧无需任何拷贝
+            data = chunk;
+            scanIndex = 0;
+        } else {
+            cumulation.appendBuffer(chunk);
+            data = cumulation;
+        }
+
+        int end = data.length();
+        int index = scanIndex;
+
+        while (index < end) {
+            int flag = ByteScanners.indexOf(data, index, end, FLAG);
+            if (flag < 0) {
+                break;
+            }
+
+            if (discarding) {
+                // 超长帧的结束标识位，丢弃完成
+                discardedBytes += flag + 1 - index;
+                discarding = false;
+            } else if (frameStart < 0) {
+                // 帧起始标识位，之前的字节不属于任何帧
+                discardedBytes += flag - index;
+                frameStart = flag;
+            } else if (flag == frameStart + 1) {
+                // 连续两个标识位，说明上一个是前一帧的结束或噪声，以当前标识位作为新帧起点
+                discardedBytes += 1;
+                frameStart = flag;
+            } else {
+                int start = frameStart;
+                frameStart = -1;
+                emitFrame(data, start, flag + 1);
+            }
+            index = flag + 1;
+        }
+
+        if (frameStart < 0) {
+            // 帧外噪声或仍在丢弃的超长帧
+            discardedBytes += end - index;
+            cumulation = null;
+            scanIndex = 0;
+            return;
+        }
+
+        int pending = end - frameStart;
+        if (pending > maxFrameLength) {
+            // 半帧已超过最大长度，丢弃直到下一个标识位
+            oversizeFrameCount++;
+            discardedBytes += pending;
+            discarding = true;
+            frameStart = -1;
+            cumulation = null;
+            scanIndex = 0;
+            return;
+        }
+
+        if (data == cumulation && frameStart == 0) {
+            // 累积缓冲区从帧起点开始，继续追加即可
+            scanIndex = end;
+        } else {
+            // 只拷贝一次残留的半帧，后续数据追加在其后
+            Buffer remaining = Buffer.buffer(Math.max(pending * 2, MIN_CUMULATION_CAPACITY));
+            remaining.appendBuffer(data, frameStart, pending);
+            cumulation = remaining;
+            frameStart = 0;
+            scanIndex = pending;
+        }
+    }
+
+    /**
+     * 输出一个完整帧
+     */
+    private void emitFrame(Buffer data, int start, int end) {
+        int length = end - start;
+        if (length > maxFrameLength) {
+            oversizeFrameCount++;
+            discardedBytes += length;
+            return;
+        }
+        frameCount++;
+        if (frameHandler != null) {
+            frameHandler.handle(data.slice(start, end));
+        }
+    }
+
+    /**
+     * 清空残留数据，通常在连接关闭时调用
+     */
+    public void reset() {
+        cumulation = null;
+        frameStart = -1;
+        scanIndex = 0;
+        discarding = false;
+    }
+
+    /**
+     * 获取最大帧长度
+     */
+    public int getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    /**
+     * 获取已输出的完整帧数量
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * 获取因超长被丢弃的帧数量
+     */
+    public long getOversizeFrameCount() {
+        return oversizeFrameCount;
+    }
+
+    /**
+     * 获取被丢弃的字节数（帧外噪声和超长帧）
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    /**
+     * 获取当前缓存的半帧字节数
+     */
+    public int getBufferedBytes() {
+        return cumulation != null ? cumulation.length() - frameStart : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "JT808FrameDecoder{" +
+                "maxFrameLength=" + maxFrameLength +
+                ", frameCount=" + frameCount +
+                ", oversizeFrameCount=" + oversizeFrameCount +
+                ", discardedBytes=" + discardedBytes +
+                ", bufferedBytes=" + getBufferedBytes() +
+                '}';
+    }
+}
@@ -18,6 +18,8 @@ public final class MessageTypes {
         public static final int COMMON_RESPONSE = 0x0001;
         /** 终端心跳 */
         public static final int HEARTBEAT = 0x0002;
+        /** 终端补传分包请求 */
+        public static final int RESEND_SUBPACKAGE_REQUEST = 0x0005;
         /** 终端注册 */
         public static final int REGISTER = 0x0100;
         /** 终端鉴权 */
@@ -66,6 +66,7 @@ public class JT808MessageFactory {
     private void initTerminalMessages() {
         messageCreators.put(MessageTypes.Terminal.COMMON_RESPONSE, T0001TerminalCommonResponse::new);
         messageCreators.put(MessageTypes.Terminal.HEARTBEAT, T0002TerminalHeartbeat::new);
+        messageCreators.put(MessageTypes.Terminal.RESEND_SUBPACKAGE_REQUEST, T0005TerminalResendSubpackageRequest::new);
         messageCreators.put(MessageTypes.Terminal.REGISTER, T0100TerminalRegister::new);
         messageCreators.put(MessageTypes.Terminal.AUTH, T0102TerminalAuth::new);
         messageCreators.put(MessageTypes.Terminal.QUERY_PARAMETERS_RESPONSE, T0104QueryTerminalParametersResponse::new);
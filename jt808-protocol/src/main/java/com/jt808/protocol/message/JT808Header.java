@@ -1,10 +1,15 @@
 package com.jt808.protocol.message;
 
+import com.jt808.common.util.PhoneNumberUtils;
+
 /**
  * JT808消息头
  */
 public class JT808Header {
 
+    /** 终端标识尚未计算 */
+    private static final long KEY_NOT_COMPUTED = Long.MIN_VALUE;
+
     /**
      * 消息ID
      */
@@ -25,6 +30,11 @@ public class JT808Header {
      */
     private String phoneNumber;
 
+    /**
+     * 终端标识（手机号BCD数字组成的数值），由手机号延迟计算
+     */
+    private long terminalKey = KEY_NOT_COMPUTED;
+
     /**
      * 消息流水号
      */
@@ -151,6 +161,29 @@ public class JT808Header {
 
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = phoneNumber;
+        this.terminalKey = KEY_NOT_COMPUTED;
+    }
+
+    /**
+     * 获取终端标识
+     *
+     * @return 终端标识，手机号为空或不是纯数字时返回 {@link PhoneNumberUtils#INVALID_KEY}
+     */
+    public long getTerminalKey() {
+        if (terminalKey == KEY_NOT_COMPUTED) {
+            terminalKey = PhoneNumberUtils.parseKey(phoneNumber);
+        }
+        return terminalKey;
+    }
+
+    /**
+     * 设置终端标识，同时把手机号设置为对应的规范字符串
+     *
+     * @param terminalKey 终端标识
+     */
+    public void setTerminalKey(long terminalKey) {
+        this.terminalKey = terminalKey;
+        this.phoneNumber = PhoneNumberUtils.toPhoneNumber(terminalKey);
     }
 
     public int getSerialNumber() {
@@ -43,6 +43,30 @@ public abstract class JT808Message {
      */
     public abstract Buffer encodeBody();
 
+    /**
+     * 将消息体直接编码到目标缓冲区末尾
+     * <p>
+     * 编码器使用该方法把消息头、消息体和校验码写入同一个缓冲区。
+     * 默认实现追加 {@link #encodeBody()} 的结果，高频消息可覆盖该方法以避免中间缓冲区。
+     *
+     * @param buffer 目标缓冲区
+     */
+    public void encodeBody(Buffer buffer) {
+        Buffer body = encodeBody();
+        if (body != null) {
+            buffer.appendBuffer(body);
+        }
+    }
+
+    /**
+     * 获取编码后的消息体长度，用于编码器预分配输出缓冲区
+     *
+     * @return 消息体长度（可以是预估值，编码器以实际写入的长度为准），无法预知时返回-1
+     */
+    public int getEncodedBodyLength() {
+        return -1;
+    }
+
     /**
      * 解码消息体
      *
@@ -13,6 +13,9 @@ public class T0001TerminalCommonResponse extends JT808Message {
     public static final byte RESULT_FAILURE = 0x01;           // 失败
     public static final byte RESULT_MESSAGE_ERROR = 0x02;     // 消息有误
     public static final byte RESULT_NOT_SUPPORTED = 0x03;     // 不支持
+
+    /** 消息体固定长度：应答流水号2 + 应答ID2 + 结果1 */
+    private static final int BODY_LENGTH = 5;
     /**
      * 应答流水号 (对应的平台消息的流水号)
      */
@@ -68,8 +71,13 @@ public class T0001TerminalCommonResponse extends JT808Message {
 
     @Override
     public Buffer encodeBody() {
-        Buffer buffer = Buffer.buffer();
+        Buffer buffer = Buffer.buffer(BODY_LENGTH);
+        encodeBody(buffer);
+        return buffer;
+    }
 
+    @Override
+    public void encodeBody(Buffer buffer) {
         // 应答流水号 (2字节)
         buffer.appendUnsignedShort(responseSerialNumber);
 
@@ -78,8 +86,11 @@ public class T0001TerminalCommonResponse extends JT808Message {
 
         // 结果 (1字节)
         buffer.appendByte(result);
+    }
 
-        return buffer;
+    @Override
+    public int getEncodedBodyLength() {
+        return BODY_LENGTH;
     }
 
     @Override
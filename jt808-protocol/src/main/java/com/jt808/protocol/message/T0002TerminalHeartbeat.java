@@ -27,6 +27,16 @@ public class T0002TerminalHeartbeat extends JT808Message {
         return Buffer.buffer();
     }
 
+    @Override
+    public void encodeBody(Buffer buffer) {
+        // 心跳消息没有消息体
+    }
+
+    @Override
+    public int getEncodedBodyLength() {
+        return 0;
+    }
+
     @Override
     public void decodeBody(Buffer body) {
         // 心跳消息没有消息体，无需解码
@@ -0,0 +1,122 @@
+package com.jt808.protocol.message;
+
+import com.jt808.protocol.constants.MessageTypes;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 终端补传分包请求消息 (0x0005)
+ * 终端请求平台重新下发分包消息中缺失的分包（如升级包）
+ * <p>
+ * 消息体数据格式:
+ * - 原始消息流水号 (WORD, 2字节): 对应要求补传的原始消息第一包的流水号
+ * - 重传包总数 (BYTE, 1字节): n
+ * - 重传包ID列表 (WORD[n], 2*n字节): 重传包的包序号
+ */
+public class T0005TerminalResendSubpackageRequest extends JT808Message {
+
+    public static final int MESSAGE_ID = MessageTypes.Terminal.RESEND_SUBPACKAGE_REQUEST;
+
+    /**
+     * 原始消息流水号
+     */
+    private int originalSerialNumber;
+
+    /**
+     * 重传包序号列表
+     */
+    private List<Integer> retransmitPackageIds;
+
+    public T0005TerminalResendSubpackageRequest() {
+        super();
+        this.retransmitPackageIds = new ArrayList<>();
+    }
+
+    public T0005TerminalResendSubpackageRequest(JT808Header header) {
+        super(header);
+        this.retransmitPackageIds = new ArrayList<>();
+    }
+
+    /**
+     * 构造终端补传分包请求
+     *
+     * @param originalSerialNumber 原始消息流水号
+     * @param retransmitPackageIds 重传包序号列表
+     */
+    public T0005TerminalResendSubpackageRequest(int originalSerialNumber, List<Integer> retransmitPackageIds) {
+        this.originalSerialNumber = originalSerialNumber;
+        this.retransmitPackageIds = retransmitPackageIds != null ? new ArrayList<>(retransmitPackageIds) : new ArrayList<>();
+    }
+
+    @Override
+    public int getMessageId() {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public Buffer encodeBody() {
+        Buffer buffer = Buffer.buffer(3 + retransmitPackageIds.size() * 2);
+
+        // 原始消息流水号 (2字节)
+        buffer.appendUnsignedShort(originalSerialNumber);
+
+        // 重传包总数 (1字节)
+        buffer.appendUnsignedByte((short) retransmitPackageIds.size());
+
+        // 重传包ID列表 (每个2字节)
+        for (Integer packageId : retransmitPackageIds) {
+            buffer.appendUnsignedShort(packageId);
+        }
+
+        return buffer;
+    }
+
+    @Override
+    public void decodeBody(Buffer body) {
+        if (body == null || body.length() < 3) {
+            throw new IllegalArgumentException("终端补传分包请求消息体长度不足，至少需要3字节");
+        }
+
+        // 原始消息流水号 (2字节)
+        originalSerialNumber = body.getUnsignedShort(0);
+
+        // 重传包总数 (1字节)
+        int packageCount = body.getUnsignedByte(2);
+        if (body.length() < 3 + packageCount * 2) {
+            throw new IllegalArgumentException("终端补传分包请求消息体长度不足，重传包总数: " + packageCount);
+        }
+
+        // 重传包ID列表
+        retransmitPackageIds = new ArrayList<>(packageCount);
+        for (int i = 0; i < packageCount; i++) {
+            retransmitPackageIds.add(body.getUnsignedShort(3 + i * 2));
+        }
+    }
+
+    // Getters and Setters
+    public int getOriginalSerialNumber() {
+        return originalSerialNumber;
+    }
+
+    public void setOriginalSerialNumber(int originalSerialNumber) {
+        this.originalSerialNumber = originalSerialNumber;
+    }
+
+    public List<Integer> getRetransmitPackageIds() {
+        return new ArrayList<>(retransmitPackageIds);
+    }
+
+    public void setRetransmitPackageIds(List<Integer> retransmitPackageIds) {
+        this.retransmitPackageIds = retransmitPackageIds != null ? new ArrayList<>(retransmitPackageIds) : new ArrayList<>();
+    }
+
+    @Override
+    public String toString() {
+        return "T0005TerminalResendSubpackageRequest{" +
+                "originalSerialNumber=" + originalSerialNumber +
+                ", retransmitPackageIds=" + retransmitPackageIds +
+                '}';
+    }
+}
@@ -8,9 +8,16 @@ import java.util.List;
 /**
  * 补传分包请求消息 (0x8003)
  * 平台请求终端重新传输指定的分包数据
+ * <p>
+ * 消息体：原始消息流水号 WORD、重传包总数 BYTE、重传包ID列表 BYTE[2*n]（每个包序号一个WORD）。
  */
 public class T8003ResendSubpackageRequest extends JT808Message {
 
+    /**
+     * 重传包总数为单字节，一条请求最多包含的包序号个数
+     */
+    public static final int MAX_PACKAGE_COUNT = 255;
+
     /**
      * 原始消息流水号
      */
@@ -76,17 +83,20 @@ public class T8003ResendSubpackageRequest extends JT808Message {
 
     @Override
     public Buffer encodeBody() {
-        Buffer buffer = Buffer.buffer();
+        if (retransmitPackageIds.size() > MAX_PACKAGE_COUNT) {
+            throw new IllegalStateException("重传包总数超过" + MAX_PACKAGE_COUNT + ": " + retransmitPackageIds.size());
+        }
+        Buffer buffer = Buffer.buffer(3 + retransmitPackageIds.size() * 2);
 
         // 原始消息流水号 (2字节)
         buffer.appendUnsignedShort(originalSerialNumber);
 
         // 重传包总数 (1字节)
-        buffer.appendByte((byte) retransmitPackageIds.size());
+        buffer.appendUnsignedByte((short) retransmitPackageIds.size());
 
-        // 重传包序号列表 (每个包序号1字节)
+        // 重传包ID列表 (每个2字节)
         for (Integer packageId : retransmitPackageIds) {
-            buffer.appendByte(packageId.byteValue());
+            buffer.appendUnsignedShort(packageId);
         }
 
         return buffer;
@@ -94,32 +104,33 @@ public class T8003ResendSubpackageRequest extends JT808Message {
 
     @Override
     public void decodeBody(Buffer body) {
-        int index = 0;
+        if (body == null || body.length() < 3) {
+            throw new IllegalArgumentException("补传分包请求消息体长度不足，至少需要3字节");
+        }
 
         // 原始消息流水号 (2字节)
-        originalSerialNumber = body.getUnsignedShort(index);
-        index += 2;
+        originalSerialNumber = body.getUnsignedShort(0);
 
         // 重传包总数 (1字节)
-        int packageCount = body.getUnsignedByte(index);
-        index += 1;
+        int packageCount = body.getUnsignedByte(2);
+        if (body.length() < 3 + packageCount * 2) {
+            throw new IllegalArgumentException("补传分包请求消息体长度不足，重传包总数: " + packageCount);
+        }
 
-        // 重传包序号列表
+        // 重传包ID列表 (每个2字节)
         retransmitPackageIds.clear();
         for (int i = 0; i < packageCount; i++) {
-            int packageId = body.getUnsignedByte(index);
-            retransmitPackageIds.add(packageId);
-            index += 1;
+            retransmitPackageIds.add(body.getUnsignedShort(3 + i * 2));
         }
     }
 
     /**
      * 添加重传包序号
      *
-     * @param packageId 包序号
+     * @param packageId 包序号，1~65535
      */
     public void addRetransmitPackageId(int packageId) {
-        if (packageId >= 1 && packageId <= 255) {
+        if (packageId >= 1 && packageId <= 0xFFFF) {
             retransmitPackageIds.add(packageId);
         }
     }
@@ -70,7 +70,12 @@ public class T8100TerminalRegisterResponse extends JT808Message {
     @Override
     public Buffer encodeBody() {
         Buffer buffer = Buffer.buffer();
+        encodeBody(buffer);
+        return buffer;
+    }
 
+    @Override
+    public void encodeBody(Buffer buffer) {
         // 应答流水号 (2字节)
         buffer.appendUnsignedShort(responseSerialNumber);
 
@@ -78,11 +83,19 @@ public class T8100TerminalRegisterResponse extends JT808Message {
         buffer.appendByte(result);
 
         // 鉴权码 (只有成功时才有)
-        if (result == RESULT_SUCCESS && authCode != null && !authCode.isEmpty()) {
+        if (hasAuthCode()) {
             buffer.appendBytes(authCode.getBytes());
         }
+    }
 
-        return buffer;
+    @Override
+    public int getEncodedBodyLength() {
+        // 鉴权码一般为ASCII字符，按字符数预估即可
+        return 3 + (hasAuthCode() ? authCode.length() : 0);
+    }
+
+    private boolean hasAuthCode() {
+        return result == RESULT_SUCCESS && authCode != null && !authCode.isEmpty();
     }
 
     @Override
@@ -0,0 +1,90 @@
+package com.jt808.protocol.processor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 处理上下文的属性键
+ * <p>
+ * 每个名称在首次注册时分配一个全局唯一的序号，{@link ProcessContext} 按序号把属性存放在数组中，按键读写不需要哈希。
+ * 属性键应在启动时以常量注册（如 {@code static final AttributeKey<SessionInfo> SESSION = AttributeKey.of("session")}），
+ * 注册后不会移除，因此不应以运行时生成的名称调用 {@link #of(String)}。按名称读写的旧接口只通过 {@link #lookup(String)}
+ * 解析已注册的键，未注册的名称存放在上下文自己的表中，不会增加全局键。
+ *
+ * @param <T> 属性值类型
+ */
+public final class AttributeKey<T> {
+
+    private static final Map<String, AttributeKey<?>> KEYS_BY_NAME = new ConcurrentHashMap<>();
+    private static volatile AttributeKey<?>[] keysByIndex = new AttributeKey<?>[0];
+
+    private final String name;
+    private final int index;
+
+    private AttributeKey(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * 获取或注册属性键
+     * @param name 属性名
+     * @return 同名的属性键总是同一个实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeKey<T> of(String name) {
+        AttributeKey<?> key = KEYS_BY_NAME.get(name);
+        return (AttributeKey<T>) (key != null ? key : register(name));
+    }
+
+    private static synchronized AttributeKey<?> register(String name) {
+        AttributeKey<?> key = KEYS_BY_NAME.get(name);
+        if (key == null) {
+            AttributeKey<?>[] keys = keysByIndex;
+            key = new AttributeKey<>(name, keys.length);
+            AttributeKey<?>[] grown = Arrays.copyOf(keys, keys.length + 1);
+            grown[keys.length] = key;
+            keysByIndex = grown;
+            KEYS_BY_NAME.put(name, key);
+        }
+        return key;
+    }
+
+    /**
+     * 按名称查找已注册的属性键，不注册
+     * @param name 属性名
+     * @return 未注册时为null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeKey<T> lookup(String name) {
+        return (AttributeKey<T>) KEYS_BY_NAME.get(name);
+    }
+
+    /**
+     * 按序号查找属性键
+     */
+    static AttributeKey<?> byIndex(int index) {
+        return keysByIndex[index];
+    }
+
+    /**
+     * 已注册的属性键数量
+     */
+    static int count() {
+        return keysByIndex.length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    int index() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeKey{" + name + '}';
+    }
+}
@@ -0,0 +1,230 @@
+package com.jt808.protocol.processor;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 阻塞处理器执行器
+ * <p>
+ * 标记为阻塞（{@link MessageProcessor#isBlocking()}）的处理器在虚拟线程中调用 {@link MessageProcessor#processSync(ProcessContext)}，
+ * 可以直接使用同步的JDBC等阻塞接口；结果回到提交时的Vert.x上下文（会话所在的Event Loop）完成，处理链在该上下文中继续。
+ * 同时执行的任务数不超过 {@code maxConcurrency}（如数据库连接池大小），超出的任务在各自的虚拟线程中等待许可，不占用平台线程。
+ * <p>
+ * 虚拟线程在 {@code synchronized} 块或本地方法中阻塞时会占住载体线程（pinning）。开启监控时通过JFR事件
+ * {@code jdk.VirtualThreadPinned} 统计本执行器线程超过阈值的pinning次数和总时长，出现pinning时应检查JDBC驱动或处理器中的同步块。
+ * JFR录制流在第一个任务提交时才启动，没有阻塞任务时不产生开销。
+ */
+public final class BlockingProcessorExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingProcessorExecutor.class);
+
+    private static final String THREAD_PREFIX = "jt808-blocking-";
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long pinnedThresholdMillis;
+    /** pinning监控，第一个任务提交时启动，未开启或JFR不可用时为null */
+    private volatile RecordingStream pinningMonitor;
+    private volatile boolean pinningMonitorStarted;
+    private boolean shutdown;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder waiting = new LongAdder();
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    /**
+     * @param maxConcurrency 最多同时执行的任务数
+     * @param pinnedThresholdMillis pinning超过该时长（毫秒）时计数，不大于0时不监控（不启动JFR录制流）
+     */
+    public BlockingProcessorExecutor(int maxConcurrency, long pinnedThresholdMillis) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_PREFIX, 0).factory());
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.pinnedThresholdMillis = pinnedThresholdMillis;
+    }
+
+    private void ensurePinningMonitor() {
+        synchronized (this) {
+            if (pinningMonitorStarted || shutdown) {
+                return;
+            }
+            pinningMonitorStarted = true;
+            pinningMonitor = startPinningMonitor(pinnedThresholdMillis);
+        }
+    }
+
+    private RecordingStream startPinningMonitor(long thresholdMillis) {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMillis));
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                RecordedThread thread = event.getThread();
+                if (thread != null && thread.getJavaName() != null && thread.getJavaName().startsWith(THREAD_PREFIX)) {
+                    pinnedCount.increment();
+                    pinnedNanos.add(event.getDuration().toNanos());
+                    logger.warn("Virtual thread {} pinned its carrier for {}ms", thread.getJavaName(),
+                            event.getDuration().toMillis());
+                }
+            });
+            stream.startAsync();
+            return stream;
+        } catch (RuntimeException e) {
+            // JFR不可用时（如被禁用）只是缺少pinning统计
+            logger.warn("Carrier thread pinning monitor unavailable", e);
+            return null;
+        }
+    }
+
+    /**
+     * 在虚拟线程中执行阻塞任务，可以在任意线程调用
+     * @param task 任务
+     * @return 任务结果，在提交时的Vert.x上下文中完成；不在上下文中提交时在虚拟线程中完成
+     */
+    public <T> Future<T> execute(Callable<T> task) {
+        if (pinnedThresholdMillis > 0 && !pinningMonitorStarted) {
+            ensurePinningMonitor();
+        }
+        Context context = Vertx.currentContext();
+        Promise<T> promise = Promise.promise();
+        submitted.increment();
+        try {
+            executor.execute(() -> run(task, context, promise));
+        } catch (RejectedExecutionException e) {
+            failed.increment();
+            return Future.failedFuture(e);
+        }
+        return promise.future();
+    }
+
+    private <T> void run(Callable<T> task, Context context, Promise<T> promise) {
+        T result;
+        try {
+            if (!permits.tryAcquire()) {
+                waiting.increment();
+                try {
+                    permits.acquire();
+                } finally {
+                    waiting.decrement();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            complete(context, () -> promise.fail(e));
+            return;
+        }
+        try {
+            result = task.call();
+        } catch (Throwable e) {
+            failed.increment();
+            complete(context, () -> promise.fail(e));
+            return;
+        } finally {
+            permits.release();
+        }
+        completed.increment();
+        complete(context, () -> promise.complete(result));
+    }
+
+    private static void complete(Context context, Runnable completion) {
+        if (context != null) {
+            context.runOnContext(v -> completion.run());
+        } else {
+            completion.run();
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 正在执行的任务数
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * 等待许可的任务数
+     */
+    public long getWaitingCount() {
+        return waiting.sum();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 超过阈值的载体线程pinning次数
+     */
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    /**
+     * 超过阈值的载体线程pinning总时长（毫秒）
+     */
+    public long getPinnedMillis() {
+        return pinnedNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * 是否在监控载体线程pinning，开启监控时第一个任务提交后才为true
+     */
+    public boolean isMonitoringPinning() {
+        return pinningMonitor != null;
+    }
+
+    /**
+     * 关闭执行器，正在执行的任务继续完成
+     */
+    public void shutdown() {
+        executor.shutdown();
+        RecordingStream monitor;
+        synchronized (this) {
+            shutdown = true;
+            monitor = pinningMonitor;
+        }
+        if (monitor != null) {
+            monitor.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BlockingProcessorExecutor{active=" + getActiveCount() + "/" + maxConcurrency + ", waiting=" + waiting.sum()
+                + ", completed=" + completed.sum() + ", failed=" + failed.sum() + ", pinned=" + pinnedCount.sum()
+                + "(" + getPinnedMillis() + "ms)}";
+    }
+}
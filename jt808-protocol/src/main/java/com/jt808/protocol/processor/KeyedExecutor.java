@@ -0,0 +1,211 @@
+package com.jt808.protocol.processor;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 按键有序执行器
+ * <p>
+ * 同一个键（终端标识，即 {@link com.jt808.protocol.message.JT808Header#getTerminalKey()}）的任务按提交顺序逐个执行，上一个任务返回的Future完成后才开始下一个，异步处理器同样保持顺序；
+ * 不同键的任务分散到共享的线程池并行执行。每个键最多排队 {@code maxQueuedPerKey} 个任务，超出时以
+ * {@link RejectedExecutionException} 失败；没有待执行任务的键不占用内存。
+ * <p>
+ * 在Vert.x上下文中提交的任务，其结果回到提交时的上下文完成。任务中的异步步骤完成后可以通过 {@link #resumeExecutor()}
+ * 回到线程池继续执行，此时同一个键的下一个任务仍在等待，顺序不受影响。
+ */
+public final class KeyedExecutor {
+
+    private final ExecutorService executor;
+    private final int maxQueuedPerKey;
+
+    /** 正在执行任务的键及其排队的任务，只在 compute 中修改 */
+    private final Map<Long, ArrayDeque<Task<?>>> lanes = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param executor 执行任务的线程池，由本执行器负责关闭
+     * @param maxQueuedPerKey 每个键最多排队的任务数（不含正在执行的任务）
+     */
+    public KeyedExecutor(ExecutorService executor, int maxQueuedPerKey) {
+        if (maxQueuedPerKey <= 0) {
+            throw new IllegalArgumentException("maxQueuedPerKey must be positive");
+        }
+        this.executor = executor;
+        this.maxQueuedPerKey = maxQueuedPerKey;
+    }
+
+    /**
+     * 使用固定数量的平台线程
+     * @param threads 线程数
+     * @param maxQueuedPerKey 每个键最多排队的任务数
+     */
+    public static KeyedExecutor workerThreads(int threads, int maxQueuedPerKey) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new KeyedExecutor(Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "jt808-processor-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }), maxQueuedPerKey);
+    }
+
+    /**
+     * 每个任务使用一个虚拟线程，并行度由JVM的虚拟线程调度器（{@code jdk.virtualThreadScheduler.parallelism}）决定
+     * @param maxQueuedPerKey 每个键最多排队的任务数
+     */
+    public static KeyedExecutor virtualThreads(int maxQueuedPerKey) {
+        return new KeyedExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("jt808-processor-vt-", 0).factory()), maxQueuedPerKey);
+    }
+
+    /**
+     * 提交任务
+     * @param key 排序键，相同键的任务按提交顺序执行
+     * @param task 任务，在线程池中调用，返回的Future完成后才执行同一个键的下一个任务
+     * @return 任务结果
+     */
+    public <T> Future<T> submit(long key, Supplier<Future<T>> task) {
+        Task<T> queued = new Task<>(task, Vertx.currentContext());
+        lanes.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queued.state = Task.RUN;
+                return new ArrayDeque<>();
+            }
+            if (queue.size() < maxQueuedPerKey) {
+                queued.state = Task.QUEUED;
+                queue.add(queued);
+            }
+            return queue;
+        });
+
+        if (queued.state == Task.REJECTED) {
+            rejected.increment();
+            return Future.failedFuture(new RejectedExecutionException("too many queued tasks for key " + key));
+        }
+        submitted.increment();
+        if (queued.state == Task.RUN) {
+            dispatch(key, queued);
+        }
+        return queued.promise.future();
+    }
+
+    private void dispatch(long key, Task<?> task) {
+        while (task != null) {
+            try {
+                Task<?> current = task;
+                executor.execute(() -> run(key, current));
+                return;
+            } catch (RejectedExecutionException e) {
+                // 线程池已关闭，该键排队的任务全部失败
+                task.complete(Future.failedFuture(e));
+                task = advance(key);
+            }
+        }
+    }
+
+    private <T> void run(long key, Task<T> task) {
+        Future<T> future;
+        try {
+            future = task.supplier.get();
+        } catch (Throwable e) {
+            future = Future.failedFuture(e);
+        }
+        future.onComplete(ar -> {
+            completed.increment();
+            task.complete(ar);
+            dispatch(key, advance(key));
+        });
+    }
+
+    /**
+     * 取出键的下一个任务，没有时移除该键
+     */
+    private Task<?> advance(long key) {
+        Object[] next = new Object[1];
+        lanes.computeIfPresent(key, (k, queue) -> {
+            next[0] = queue.poll();
+            return next[0] == null ? null : queue;
+        });
+        return (Task<?>) next[0];
+    }
+
+    /**
+     * 执行任务的线程池，任务中的异步步骤完成后通过它回到本执行器继续执行
+     */
+    public Executor resumeExecutor() {
+        return executor;
+    }
+
+    /**
+     * 正在执行任务的键数
+     */
+    public int getActiveKeyCount() {
+        return lanes.size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 关闭线程池，正在执行的任务继续完成，尚未开始的任务失败
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "KeyedExecutor{activeKeys=" + lanes.size() + ", submitted=" + submitted.sum()
+                + ", completed=" + completed.sum() + ", rejected=" + rejected.sum() + '}';
+    }
+
+    private static final class Task<T> {
+        static final int REJECTED = 0;
+        static final int QUEUED = 1;
+        static final int RUN = 2;
+
+        final Supplier<Future<T>> supplier;
+        final Context context;
+        final Promise<T> promise = Promise.promise();
+        /** 提交结果，在 compute 中设置 */
+        int state = REJECTED;
+
+        Task(Supplier<Future<T>> supplier, Context context) {
+            this.supplier = supplier;
+            this.context = context;
+        }
+
+        void complete(AsyncResult<T> result) {
+            if (context != null) {
+                context.runOnContext(v -> promise.handle(result));
+            } else {
+                promise.handle(result);
+            }
+        }
+    }
+}
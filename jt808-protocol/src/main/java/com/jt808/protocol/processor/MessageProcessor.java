@@ -17,6 +17,32 @@ public interface MessageProcessor {
      */
     Future<ProcessResult> process(ProcessContext context);
 
+    /**
+     * 同步处理消息
+     * <p>
+     * 编译模式的处理链对 {@link #isAsync()} 为false的处理器调用本方法而不是 {@link #process(ProcessContext)}，
+     * 不为每个阶段创建Future。同步处理器应覆盖本方法并让 {@link #process(ProcessContext)} 委托给它；
+     * 默认实现取 {@link #process(ProcessContext)} 已完成的结果。
+     *
+     * @param context 处理上下文
+     * @return 处理结果
+     * @throws IllegalStateException 处理器未同步完成
+     */
+    default ProcessResult processSync(ProcessContext context) {
+        Future<ProcessResult> future = process(context);
+        if (future.succeeded()) {
+            return future.result();
+        }
+        if (future.failed()) {
+            Throwable cause = future.cause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+        throw new IllegalStateException("Processor " + getName() + " did not complete synchronously");
+    }
+
     /**
      * 获取处理器名称
      */
@@ -36,10 +62,31 @@ public interface MessageProcessor {
         return true;
     }
 
+    /**
+     * 判断是否可能处理指定ID的消息
+     * <p>
+     * 编译模式的处理链据此为每个消息ID预先剔除永远不会执行的处理器。返回值在处理器加入处理链后改变时，
+     * 需要调用 {@link MessageProcessorChain#recompile()} 重新生成处理计划（见 {@link com.jt808.protocol.processor.impl.MessageRouter}）；
+     * 需要依据消息内容判断的仍由 {@link #canProcess(JT808Message)} 在处理时判断。
+     */
+    default boolean canProcess(int messageId) {
+        return true;
+    }
+
     /**
      * 处理器是否为异步处理
      */
     default boolean isAsync() {
         return true;
     }
+
+    /**
+     * 处理器是否会阻塞线程（如使用同步的JDBC）
+     * <p>
+     * 处理链配置了 {@link BlockingProcessorExecutor} 时，阻塞处理器的 {@link #processSync(ProcessContext)}
+     * 在虚拟线程中执行，结果回到会话所在的上下文后继续处理链；未配置时按 {@link #isAsync()} 正常调用。
+     */
+    default boolean isBlocking() {
+        return false;
+    }
 }
\ No newline at end of file
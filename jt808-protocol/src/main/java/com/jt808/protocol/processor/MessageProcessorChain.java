@@ -1,6 +1,8 @@
 package com.jt808.protocol.processor;
 
+import com.jt808.common.util.LatencyHistogram;
 import com.jt808.protocol.message.JT808Message;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -9,11 +11,24 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 消息处理器链
  * 支持中间件模式的消息处理
+ * <p>
+ * 编译模式下，处理器增删时重新生成处理计划，每个消息ID首次处理时据 {@link MessageProcessor#canProcess(int)}
+ * 生成不可变的阶段数组，永远不会执行的处理器不再出现在处理结果中。同步处理器（{@link MessageProcessor#isAsync()}
+ * 为false）在循环中依次调用 {@link MessageProcessor#processSync(ProcessContext)}，不创建Future，每个阶段只读取一次时钟；
+ * 遇到异步处理器时才回到Future链式处理。
+ * <p>
+ * 设置了 {@link BlockingProcessorExecutor} 时，阻塞处理器（{@link MessageProcessor#isBlocking()}）在虚拟线程中执行。
+ * 两种模式下异步阶段完成后都在 {@link #process(ProcessContext, Executor)} 指定的执行器上继续后续阶段，
+ * 未指定时回到挂起时所在的Vert.x上下文。
  */
 public class MessageProcessorChain {
 
@@ -23,16 +38,54 @@ public class MessageProcessorChain {
     private final List<MessageProcessor> processors;
     private final Map<String, MessageProcessor> processorMap;
     private final AtomicLong contextIdGenerator;
+    private final boolean compiled;
 
     // 统计信息
     private final Map<String, ProcessorStats> stats;
 
+    // 编译模式的处理计划，处理器增删时整体替换
+    private volatile CompiledPlan plan;
+
+    // 阻塞处理器的执行器，为null时阻塞处理器与其他处理器一样调用
+    private volatile BlockingProcessorExecutor blockingExecutor;
+
     public MessageProcessorChain(Vertx vertx) {
+        this(vertx, false);
+    }
+
+    /**
+     * @param vertx Vertx实例
+     * @param compiled 是否使用编译模式
+     */
+    public MessageProcessorChain(Vertx vertx, boolean compiled) {
         this.vertx = vertx;
         this.processors = new ArrayList<>();
         this.processorMap = new ConcurrentHashMap<>();
         this.contextIdGenerator = new AtomicLong(0);
         this.stats = new ConcurrentHashMap<>();
+        this.compiled = compiled;
+        this.plan = new CompiledPlan(new Stage[0]);
+    }
+
+    /**
+     * 是否使用编译模式
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * 设置阻塞处理器的执行器
+     */
+    public void setBlockingExecutor(BlockingProcessorExecutor blockingExecutor) {
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /**
+     * 获取阻塞处理器的执行器
+     */
+    public BlockingProcessorExecutor getBlockingExecutor() {
+        return blockingExecutor;
     }
 
     /**
@@ -53,6 +106,7 @@ public class MessageProcessorChain {
 
         // 按优先级排序
         processors.sort(Comparator.comparingInt(MessageProcessor::getPriority));
+        recompile();
 
         logger.info("Added processor: {} with priority: {}", processor.getName(), processor.getPriority());
         return this;
@@ -66,6 +120,7 @@ public class MessageProcessorChain {
         if (processor != null) {
             processors.remove(processor);
             stats.remove(processorName);
+            recompile();
             logger.info("Removed processor: {}", processorName);
             return true;
         }
@@ -90,21 +145,33 @@ public class MessageProcessorChain {
      * 处理消息
      */
     public Future<List<ProcessResult>> process(JT808Message message) {
-        String contextId = "ctx-" + contextIdGenerator.incrementAndGet();
-        ProcessContext context = new ProcessContext(contextId, message, vertx);
-        return process(context);
+        return process(new ProcessContext(contextIdGenerator.incrementAndGet(), message, vertx, null));
     }
 
     /**
      * 处理消息（使用指定上下文）
      */
     public Future<List<ProcessResult>> process(ProcessContext context) {
+        return process(context, null);
+    }
+
+    /**
+     * 处理消息，异步阶段完成后在指定的执行器上继续
+     *
+     * @param resumeExecutor 继续后续阶段的执行器，为null时回到挂起时所在的Vert.x上下文
+     */
+    public Future<List<ProcessResult>> process(ProcessContext context, Executor resumeExecutor) {
+        if (compiled) {
+            Stage[] stages = plan.stagesFor(context.getMessage().getMessageId());
+            return runStages(context, stages, 0, new ArrayList<>(stages.length), null, resumeExecutor);
+        }
+
         Promise<List<ProcessResult>> promise = Promise.promise();
         List<ProcessResult> results = new ArrayList<>();
 
         logger.debug("Starting message processing chain for context: {}", context.getContextId());
 
-        processNext(context, 0, results, promise);
+        processNext(context, 0, results, promise, resumeExecutor);
 
         return promise.future();
     }
@@ -112,7 +179,8 @@ public class MessageProcessorChain {
     /**
      * 递归处理下一个处理器
      */
-    private void processNext(ProcessContext context, int index, List<ProcessResult> results, Promise<List<ProcessResult>> promise) {
+    private void processNext(ProcessContext context, int index, List<ProcessResult> results,
+                             Promise<List<ProcessResult>> promise, Executor resumeExecutor) {
         if (index >= processors.size() || !context.shouldContinue()) {
             logger.debug("Processing chain completed for context: {}, total results: {}",
                     context.getContextId(), results.size());
@@ -124,28 +192,31 @@ public class MessageProcessorChain {
         context.setCurrentProcessorIndex(index);
 
         // 检查处理器是否可以处理此消息
-        if (!processor.canProcess(context.getMessage())) {
+        JT808Message message = context.getMessage();
+        if (!processor.canProcess(message.getMessageId()) || !processor.canProcess(message)) {
             ProcessResult skipResult = ProcessResult.skipped(processor.getName(), "Cannot process this message type");
             results.add(skipResult);
-            updateStats(processor.getName(), skipResult);
+            updateStats(processor.getName(), skipResult, message.getMessageId(), -1);
 
             // 继续下一个处理器
-            processNext(context, index + 1, results, promise);
+            processNext(context, index + 1, results, promise, resumeExecutor);
             return;
         }
 
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
         logger.debug("Processing message with processor: {} for context: {}",
                 processor.getName(), context.getContextId());
 
         // 执行处理器
-        processor.process(context)
+        Executor resume = processor.isAsync() ? resumeExecutor(resumeExecutor) : resumeExecutor;
+        invoke(processor, context)
                 .onSuccess(result -> {
-                    long duration = System.currentTimeMillis() - startTime;
+                    long latencyNanos = System.nanoTime() - startNanos;
+                    long duration = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
 
                     // 更新统计信息
-                    updateStats(processor.getName(), result);
+                    updateStats(processor.getName(), result, message.getMessageId(), latencyNanos);
 
                     results.add(result);
                     context.setLastResult(result);
@@ -160,16 +231,17 @@ public class MessageProcessorChain {
 
                     // 继续下一个处理器
                     if (processor.isAsync()) {
-                        vertx.runOnContext(v -> processNext(context, index + 1, results, promise));
+                        resume.execute(() -> processNext(context, index + 1, results, promise, resume));
                     } else {
-                        processNext(context, index + 1, results, promise);
+                        processNext(context, index + 1, results, promise, resume);
                     }
                 })
                 .onFailure(error -> {
-                    long duration = System.currentTimeMillis() - startTime;
+                    long latencyNanos = System.nanoTime() - startNanos;
+                    long duration = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
                     ProcessResult errorResult = ProcessResult.failed(processor.getName(), duration, error);
 
-                    updateStats(processor.getName(), errorResult);
+                    updateStats(processor.getName(), errorResult, message.getMessageId(), latencyNanos);
                     results.add(errorResult);
                     context.setLastResult(errorResult);
 
@@ -178,13 +250,156 @@ public class MessageProcessorChain {
 
                     // 根据错误处理策略决定是否继续
                     if (shouldContinueOnError(processor, error)) {
-                        processNext(context, index + 1, results, promise);
+                        processNext(context, index + 1, results, promise, resume);
                     } else {
                         promise.fail(error);
                     }
                 });
     }
 
+    /**
+     * 按处理器当前顺序重新生成处理计划，各消息ID的阶段数组在首次处理时生成
+     * <p>
+     * 处理器增删时自动调用；处理器的 {@link MessageProcessor#canProcess(int)} 结果改变后也需要调用。
+     */
+    public void recompile() {
+        Stage[] stages = new Stage[processors.size()];
+        for (int i = 0; i < stages.length; i++) {
+            MessageProcessor processor = processors.get(i);
+            stages[i] = new Stage(processor, stats.get(processor.getName()));
+        }
+        plan = new CompiledPlan(stages);
+    }
+
+    /**
+     * 编译模式：从index开始依次执行阶段，同步阶段在循环中完成，遇到异步阶段时挂起，完成后继续
+     *
+     * @param promise 已经挂起过时为整条链的Promise，否则为null
+     */
+    private Future<List<ProcessResult>> runStages(ProcessContext context, Stage[] stages, int index,
+                                                  List<ProcessResult> results, Promise<List<ProcessResult>> promise,
+                                                  Executor resumeExecutor) {
+        JT808Message message = context.getMessage();
+        // 每个阶段结束时读取一次时钟，同时作为下一个阶段的开始时间
+        long stageStart = System.nanoTime();
+        for (int i = index; i < stages.length && context.shouldContinue(); i++) {
+            Stage stage = stages[i];
+            MessageProcessor processor = stage.processor;
+            context.setCurrentProcessorIndex(i);
+
+            if (!processor.canProcess(message)) {
+                accept(context, stage, ProcessResult.skipped(stage.name, "Cannot process this message type"), results, -1);
+                continue;
+            }
+
+            BlockingProcessorExecutor blocking = stage.blocking ? blockingExecutor : null;
+            if (stage.sync && blocking == null) {
+                ProcessResult result;
+                try {
+                    result = processor.processSync(context);
+                } catch (Throwable error) {
+                    long now = System.nanoTime();
+                    if (!reject(context, stage, now - stageStart, error, results)) {
+                        return fail(error, promise);
+                    }
+                    stageStart = now;
+                    continue;
+                }
+                long now = System.nanoTime();
+                accept(context, stage, result, results, now - stageStart);
+                stageStart = now;
+                continue;
+            }
+
+            long startNanos = stageStart;
+            Promise<List<ProcessResult>> chainPromise = promise != null ? promise : Promise.promise();
+            int next = i + 1;
+            Executor resume = resumeExecutor(resumeExecutor);
+            Future<ProcessResult> future = blocking != null
+                    ? blocking.execute(() -> processor.processSync(context)) : processor.process(context);
+            future.onComplete(ar -> {
+                long latencyNanos = System.nanoTime() - startNanos;
+                if (ar.succeeded()) {
+                    accept(context, stage, ar.result(), results, latencyNanos);
+                    resume.execute(() -> runStages(context, stages, next, results, chainPromise, resume));
+                } else if (reject(context, stage, latencyNanos, ar.cause(), results)) {
+                    runStages(context, stages, next, results, chainPromise, resume);
+                } else {
+                    chainPromise.fail(ar.cause());
+                }
+            });
+            return chainPromise.future();
+        }
+
+        if (promise == null) {
+            return Future.succeededFuture(results);
+        }
+        promise.complete(results);
+        return promise.future();
+    }
+
+    /**
+     * 异步阶段完成后继续执行的执行器：未指定时为当前（挂起时）的Vert.x上下文
+     */
+    private Executor resumeExecutor(Executor resumeExecutor) {
+        if (resumeExecutor != null) {
+            return resumeExecutor;
+        }
+        Context current = vertx.getOrCreateContext();
+        return task -> current.runOnContext(v -> task.run());
+    }
+
+    /**
+     * 调用处理器，阻塞处理器在配置了执行器时交给虚拟线程执行
+     */
+    private Future<ProcessResult> invoke(MessageProcessor processor, ProcessContext context) {
+        BlockingProcessorExecutor blocking = blockingExecutor;
+        if (blocking != null && processor.isBlocking()) {
+            return blocking.execute(() -> processor.processSync(context));
+        }
+        return processor.process(context);
+    }
+
+    private void accept(ProcessContext context, Stage stage, ProcessResult result, List<ProcessResult> results,
+                        long latencyNanos) {
+        if (stage.stats != null) {
+            stage.stats.record(result, context.getMessage().getMessageId(), latencyNanos);
+        }
+        results.add(result);
+        context.setLastResult(result);
+
+        if (result.isFailed() && !shouldContinueOnFailure(stage.processor, result)) {
+            context.stopProcessing();
+        }
+    }
+
+    /**
+     * 记录阶段出错
+     *
+     * @return 是否继续后续阶段
+     */
+    private boolean reject(ProcessContext context, Stage stage, long latencyNanos, Throwable error, List<ProcessResult> results) {
+        long duration = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        ProcessResult errorResult = ProcessResult.failed(stage.name, duration, error);
+        if (stage.stats != null) {
+            stage.stats.record(errorResult, context.getMessage().getMessageId(), latencyNanos);
+        }
+        results.add(errorResult);
+        context.setLastResult(errorResult);
+
+        logger.error("Processor {} failed for context: {}, duration: {}ms",
+                stage.name, context.getContextId(), duration, error);
+        return shouldContinueOnError(stage.processor, error);
+    }
+
+    private static Future<List<ProcessResult>> fail(Throwable error, Promise<List<ProcessResult>> promise) {
+        if (promise == null) {
+            return Future.failedFuture(error);
+        }
+        promise.fail(error);
+        return promise.future();
+    }
+
     /**
      * 判断处理失败时是否应该继续
      */
@@ -204,10 +419,10 @@ public class MessageProcessorChain {
     /**
      * 更新处理器统计信息
      */
-    private void updateStats(String processorName, ProcessResult result) {
+    private void updateStats(String processorName, ProcessResult result, int messageId, long latencyNanos) {
         ProcessorStats stat = stats.get(processorName);
         if (stat != null) {
-            stat.update(result);
+            stat.record(result, messageId, latencyNanos);
         }
     }
 
@@ -232,102 +447,263 @@ public class MessageProcessorChain {
         stats.values().forEach(ProcessorStats::reset);
     }
 
+    /**
+     * 编译后的处理阶段
+     */
+    private static final class Stage {
+        final MessageProcessor processor;
+        final String name;
+        final ProcessorStats stats;
+        final boolean sync;
+        final boolean blocking;
+
+        Stage(MessageProcessor processor, ProcessorStats stats) {
+            this.processor = processor;
+            this.name = processor.getName();
+            this.stats = stats;
+            this.sync = !processor.isAsync();
+            this.blocking = processor.isBlocking();
+        }
+    }
+
+    /**
+     * 某个消息ID的阶段数组
+     */
+    private static final class Pipeline {
+        final Stage[] stages;
+
+        Pipeline(Stage[] stages) {
+            this.stages = stages;
+        }
+    }
+
+    /**
+     * 处理计划：全部阶段，以及按消息ID高8位分页、首次处理时生成的各消息ID阶段数组。
+     * 并发生成同一消息ID时结果相同，谁覆盖谁都无妨；Pipeline只有final字段，发布后可安全读取
+     */
+    private static final class CompiledPlan {
+        private final Stage[] stages;
+        private final Pipeline[][] pages = new Pipeline[256][];
+
+        CompiledPlan(Stage[] stages) {
+            this.stages = stages;
+        }
+
+        Stage[] stagesFor(int messageId) {
+            int id = messageId & 0xFFFF;
+            Pipeline[] page = pages[id >>> 8];
+            if (page == null) {
+                page = new Pipeline[256];
+                pages[id >>> 8] = page;
+            }
+            Pipeline pipeline = page[id & 0xFF];
+            if (pipeline == null) {
+                pipeline = new Pipeline(compile(id));
+                page[id & 0xFF] = pipeline;
+            }
+            return pipeline.stages;
+        }
+
+        private Stage[] compile(int messageId) {
+            List<Stage> applicable = new ArrayList<>(stages.length);
+            for (Stage stage : stages) {
+                if (stage.processor.canProcess(messageId)) {
+                    applicable.add(stage);
+                }
+            }
+            return applicable.toArray(new Stage[0]);
+        }
+    }
+
     /**
      * 处理器统计信息
+     * <p>
+     * 计数使用 {@link LongAdder}，不同Event Loop并发更新时互不阻塞；阶段耗时按处理器和消息ID分别记入
+     * {@link LatencyHistogram}（微秒），可随时取快照计算p50/p99/p999。耗时的总计、最大、最小、平均值（毫秒）
+     * 仍取自处理器报告的 {@link ProcessResult#getProcessingDuration()}。
      */
     public static class ProcessorStats {
-        private long totalCount = 0;
-        private long successCount = 0;
-        private long failedCount = 0;
-        private long skippedCount = 0;
-        private long retryCount = 0;
-        private long totalDuration = 0;
-        private long maxDuration = 0;
-        private long minDuration = Long.MAX_VALUE;
-
-        public synchronized void update(ProcessResult result) {
-            totalCount++;
-            totalDuration += result.getProcessingDuration();
-
-            if (result.getProcessingDuration() > maxDuration) {
-                maxDuration = result.getProcessingDuration();
+        private final LongAdder totalCount = new LongAdder();
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failedCount = new LongAdder();
+        private final LongAdder skippedCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final LongAdder totalDuration = new LongAdder();
+        private final AtomicLong maxDuration = new AtomicLong();
+        private final AtomicLong minDuration = new AtomicLong(Long.MAX_VALUE);
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        /** 按消息ID的耗时直方图，按消息ID高8位分页，首次出现时创建 */
+        private volatile AtomicReferenceArray<AtomicReferenceArray<LatencyHistogram>> latencyByMessageId =
+                new AtomicReferenceArray<>(256);
+
+        /**
+         * 记录一次处理结果，不记录耗时分布
+         */
+        public void update(ProcessResult result) {
+            record(result, -1, -1);
+        }
+
+        /**
+         * 记录一次处理结果
+         *
+         * @param result 处理结果
+         * @param messageId 消息ID，负数表示不按消息ID记录耗时
+         * @param latencyNanos 处理链测得的阶段耗时（纳秒），负数表示不记录耗时（如跳过的阶段）
+         */
+        public void record(ProcessResult result, int messageId, long latencyNanos) {
+            totalCount.increment();
+            long duration = result.getProcessingDuration();
+            totalDuration.add(duration);
+            if (duration > maxDuration.get()) {
+                maxDuration.accumulateAndGet(duration, Math::max);
             }
-            if (result.getProcessingDuration() < minDuration) {
-                minDuration = result.getProcessingDuration();
+            if (duration < minDuration.get()) {
+                minDuration.accumulateAndGet(duration, Math::min);
             }
 
             switch (result.getStatus()) {
                 case SUCCESS:
-                    successCount++;
+                    successCount.increment();
                     break;
                 case FAILED:
-                    failedCount++;
+                    failedCount.increment();
                     break;
                 case SKIPPED:
-                    skippedCount++;
+                    skippedCount.increment();
                     break;
                 case RETRY:
-                    retryCount++;
+                    retryCount.increment();
                     break;
             }
+
+            if (latencyNanos >= 0) {
+                latency.recordNanos(latencyNanos);
+                if (messageId >= 0) {
+                    histogramFor(messageId).recordNanos(latencyNanos);
+                }
+            }
         }
 
-        public synchronized void reset() {
-            totalCount = 0;
-            successCount = 0;
-            failedCount = 0;
-            skippedCount = 0;
-            retryCount = 0;
-            totalDuration = 0;
-            maxDuration = 0;
-            minDuration = Long.MAX_VALUE;
+        private LatencyHistogram histogramFor(int messageId) {
+            int id = messageId & 0xFFFF;
+            AtomicReferenceArray<AtomicReferenceArray<LatencyHistogram>> pages = latencyByMessageId;
+            AtomicReferenceArray<LatencyHistogram> page = pages.get(id >>> 8);
+            if (page == null) {
+                pages.compareAndSet(id >>> 8, null, new AtomicReferenceArray<>(256));
+                page = pages.get(id >>> 8);
+            }
+            LatencyHistogram histogram = page.get(id & 0xFF);
+            if (histogram == null) {
+                page.compareAndSet(id & 0xFF, null, new LatencyHistogram());
+                histogram = page.get(id & 0xFF);
+            }
+            return histogram;
+        }
+
+        public void reset() {
+            totalCount.reset();
+            successCount.reset();
+            failedCount.reset();
+            skippedCount.reset();
+            retryCount.reset();
+            totalDuration.reset();
+            maxDuration.set(0);
+            minDuration.set(Long.MAX_VALUE);
+            latency.reset();
+            latencyByMessageId = new AtomicReferenceArray<>(256);
         }
 
         // Getters
         public long getTotalCount() {
-            return totalCount;
+            return totalCount.sum();
         }
 
         public long getSuccessCount() {
-            return successCount;
+            return successCount.sum();
         }
 
         public long getFailedCount() {
-            return failedCount;
+            return failedCount.sum();
         }
 
         public long getSkippedCount() {
-            return skippedCount;
+            return skippedCount.sum();
         }
 
         public long getRetryCount() {
-            return retryCount;
+            return retryCount.sum();
         }
 
         public long getTotalDuration() {
-            return totalDuration;
+            return totalDuration.sum();
         }
 
         public long getMaxDuration() {
-            return maxDuration;
+            return maxDuration.get();
         }
 
         public long getMinDuration() {
-            return minDuration == Long.MAX_VALUE ? 0 : minDuration;
+            long min = minDuration.get();
+            return min == Long.MAX_VALUE ? 0 : min;
         }
 
         public double getAverageDuration() {
-            return totalCount > 0 ? (double) totalDuration / totalCount : 0;
+            long total = totalCount.sum();
+            return total > 0 ? (double) totalDuration.sum() / total : 0;
         }
 
         public double getSuccessRate() {
-            return totalCount > 0 ? (double) successCount / totalCount : 0;
+            long total = totalCount.sum();
+            return total > 0 ? (double) successCount.sum() / total : 0;
+        }
+
+        /**
+         * 阶段耗时分布（微秒）
+         */
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency.snapshot();
+        }
+
+        /**
+         * 指定消息ID的阶段耗时分布（微秒）
+         *
+         * @return 没有该消息ID的记录时为null
+         */
+        public LatencyHistogram.Snapshot getLatency(int messageId) {
+            int id = messageId & 0xFFFF;
+            AtomicReferenceArray<LatencyHistogram> page = latencyByMessageId.get(id >>> 8);
+            LatencyHistogram histogram = page != null ? page.get(id & 0xFF) : null;
+            return histogram != null ? histogram.snapshot() : null;
+        }
+
+        /**
+         * 全部消息ID的阶段耗时分布（微秒）
+         */
+        public Map<Integer, LatencyHistogram.Snapshot> getLatencyByMessageId() {
+            Map<Integer, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+            AtomicReferenceArray<AtomicReferenceArray<LatencyHistogram>> pages = latencyByMessageId;
+            for (int high = 0; high < pages.length(); high++) {
+                AtomicReferenceArray<LatencyHistogram> page = pages.get(high);
+                if (page == null) {
+                    continue;
+                }
+                for (int low = 0; low < page.length(); low++) {
+                    LatencyHistogram histogram = page.get(low);
+                    if (histogram != null) {
+                        snapshots.put(high << 8 | low, histogram.snapshot());
+                    }
+                }
+            }
+            return snapshots;
         }
 
         @Override
         public String toString() {
-            return String.format("ProcessorStats{total=%d, success=%d(%.2f%%), failed=%d, skipped=%d, retry=%d, avgDuration=%.2fms}",
-                    totalCount, successCount, getSuccessRate() * 100, failedCount, skippedCount, retryCount, getAverageDuration());
+            LatencyHistogram.Snapshot snapshot = latency.snapshot();
+            return String.format("ProcessorStats{total=%d, success=%d(%.2f%%), failed=%d, skipped=%d, retry=%d, avgDuration=%.2fms, p50=%dus, p99=%dus, p999=%dus}",
+                    getTotalCount(), getSuccessCount(), getSuccessRate() * 100, getFailedCount(), getSkippedCount(), getRetryCount(),
+                    getAverageDuration(), snapshot.getP50(), snapshot.getP99(), snapshot.getP999());
         }
     }
 }
\ No newline at end of file
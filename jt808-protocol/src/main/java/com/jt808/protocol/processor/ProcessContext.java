@@ -5,21 +5,33 @@ import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 消息处理上下文
  * 包含消息处理过程中的所有相关信息
+ * <p>
+ * 属性按 {@link AttributeKey} 的序号存放在数组中，使用键常量读写（{@link #get(AttributeKey)}、{@link #set(AttributeKey, Object)}）
+ * 不需要哈希；按名称读写的接口先查找同名的已注册键，没有时存放在本上下文的表中，不注册新键。一个上下文同一时间只属于一条处理链，
+ * 处理链的各个阶段依次执行（包括切换到虚拟线程执行的阻塞阶段），属性读写不加锁。
+ * <p>
+ * 上下文可以由 {@link ProcessContextPool} 复用，处理完成归还后不应再持有。
  */
 public class ProcessContext {
 
-    private final String contextId;
-    private final JT808Message message;
-    private final Vertx vertx;
-    private final LocalDateTime createTime;
-    private final Map<String, Object> attributes;
-    private final JsonObject config;
+    private static final Object[] NO_ATTRIBUTES = new Object[0];
+
+    private String contextId;
+    private long sequence;
+    private JT808Message message;
+    private Vertx vertx;
+    private long createNanos;
+    private Object[] attributes;
+    /** 名称未注册为 {@link AttributeKey} 的属性，首次使用时创建 */
+    private Map<String, Object> namedAttributes;
+    private JsonObject config;
 
     // 处理链相关
     private int currentProcessorIndex = 0;
@@ -27,7 +39,7 @@ public class ProcessContext {
     private ProcessResult lastResult;
 
     public ProcessContext(String contextId, JT808Message message, Vertx vertx) {
-        this(contextId, message, vertx, new JsonObject());
+        this(contextId, message, vertx, null);
     }
 
     public ProcessContext(String contextId, JT808Message message, Vertx vertx, JsonObject config) {
@@ -35,14 +47,56 @@ public class ProcessContext {
         this.message = message;
         this.vertx = vertx;
         this.config = config;
-        this.createTime = LocalDateTime.now();
-        this.attributes = new ConcurrentHashMap<>();
+        this.createNanos = System.nanoTime();
+        this.attributes = newAttributes();
+    }
+
+    /**
+     * 使用序号创建上下文，上下文ID在首次获取时生成
+     */
+    ProcessContext(long sequence, JT808Message message, Vertx vertx, JsonObject config) {
+        this((String) null, message, vertx, config);
+        this.sequence = sequence;
+    }
+
+    private static Object[] newAttributes() {
+        int count = AttributeKey.count();
+        return count == 0 ? NO_ATTRIBUTES : new Object[count];
+    }
+
+    /**
+     * 复用上下文处理新的消息
+     */
+    void reset(long sequence, JT808Message message, Vertx vertx, JsonObject config) {
+        this.contextId = null;
+        this.sequence = sequence;
+        this.message = message;
+        this.vertx = vertx;
+        this.config = config;
+        this.createNanos = System.nanoTime();
+        this.currentProcessorIndex = 0;
+        this.shouldContinue = true;
+        this.lastResult = null;
+    }
+
+    /**
+     * 清除对消息、属性和结果的引用
+     */
+    void clear() {
+        Arrays.fill(attributes, null);
+        this.namedAttributes = null;
+        this.message = null;
+        this.config = null;
+        this.lastResult = null;
     }
 
     /**
      * 获取上下文ID
      */
     public String getContextId() {
+        if (contextId == null) {
+            contextId = "ctx-" + sequence;
+        }
         return contextId;
     }
 
@@ -61,24 +115,88 @@ public class ProcessContext {
     }
 
     /**
-     * 获取创建时间
+     * 获取创建时的 {@link System#nanoTime()}
+     */
+    public long getCreateNanos() {
+        return createNanos;
+    }
+
+    /**
+     * 获取创建时间，由创建至今的时长推算
      */
     public LocalDateTime getCreateTime() {
-        return createTime;
+        return LocalDateTime.now().minusNanos(System.nanoTime() - createNanos);
     }
 
     /**
      * 获取配置
      */
     public JsonObject getConfig() {
+        if (config == null) {
+            config = new JsonObject();
+        }
         return config;
     }
 
     /**
-     * 设置属性
+     * 设置属性，值为null时移除
+     */
+    public <T> ProcessContext set(AttributeKey<T> key, T value) {
+        int index = key.index();
+        if (index >= attributes.length) {
+            if (value == null) {
+                return this;
+            }
+            attributes = Arrays.copyOf(attributes, AttributeKey.count());
+        }
+        attributes[index] = value;
+        return this;
+    }
+
+    /**
+     * 获取属性
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(AttributeKey<T> key) {
+        int index = key.index();
+        return index < attributes.length ? (T) attributes[index] : null;
+    }
+
+    /**
+     * 获取属性，如果不存在则返回默认值
+     */
+    public <T> T get(AttributeKey<T> key, T defaultValue) {
+        T value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 移除属性
+     */
+    public <T> T remove(AttributeKey<T> key) {
+        T value = get(key);
+        if (value != null) {
+            attributes[key.index()] = null;
+        }
+        return value;
+    }
+
+    /**
+     * 设置属性，值为null时移除
      */
     public ProcessContext setAttribute(String key, Object value) {
-        attributes.put(key, value);
+        AttributeKey<Object> attributeKey = AttributeKey.lookup(key);
+        if (attributeKey != null) {
+            return set(attributeKey, value);
+        }
+        if (value != null) {
+            if (namedAttributes == null) {
+                namedAttributes = new HashMap<>();
+            }
+            namedAttributes.put(key, value);
+        } else if (namedAttributes != null) {
+            namedAttributes.remove(key);
+        }
         return this;
     }
 
@@ -87,29 +205,46 @@ public class ProcessContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T getAttribute(String key) {
-        return (T) attributes.get(key);
+        AttributeKey<T> attributeKey = AttributeKey.lookup(key);
+        if (attributeKey != null) {
+            return get(attributeKey);
+        }
+        return namedAttributes != null ? (T) namedAttributes.get(key) : null;
     }
 
     /**
      * 获取属性，如果不存在则返回默认值
      */
-    @SuppressWarnings("unchecked")
     public <T> T getAttribute(String key, T defaultValue) {
-        return (T) attributes.getOrDefault(key, defaultValue);
+        T value = getAttribute(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
      * 移除属性
      */
     public Object removeAttribute(String key) {
-        return attributes.remove(key);
+        AttributeKey<Object> attributeKey = AttributeKey.lookup(key);
+        if (attributeKey != null) {
+            return remove(attributeKey);
+        }
+        return namedAttributes != null ? namedAttributes.remove(key) : null;
     }
 
     /**
      * 获取所有属性
      */
     public Map<String, Object> getAttributes() {
-        return new ConcurrentHashMap<>(attributes);
+        Map<String, Object> copy = new HashMap<>();
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i] != null) {
+                copy.put(AttributeKey.byIndex(i).getName(), attributes[i]);
+            }
+        }
+        if (namedAttributes != null) {
+            copy.putAll(namedAttributes);
+        }
+        return copy;
     }
 
     /**
@@ -165,19 +300,22 @@ public class ProcessContext {
      * 创建子上下文
      */
     public ProcessContext createSubContext(String subContextId) {
-        ProcessContext subContext = new ProcessContext(subContextId, message, vertx, config);
-        subContext.attributes.putAll(this.attributes);
+        ProcessContext subContext = new ProcessContext(subContextId, message, vertx, getConfig());
+        subContext.attributes = attributes.length == 0 ? NO_ATTRIBUTES : attributes.clone();
+        if (namedAttributes != null) {
+            subContext.namedAttributes = new HashMap<>(namedAttributes);
+        }
         return subContext;
     }
 
     @Override
     public String toString() {
         return "ProcessContext{" +
-                "contextId='" + contextId + '\'' +
+                "contextId='" + getContextId() + '\'' +
                 ", messageType=" + (message != null ? "0x" + Integer.toHexString(message.getMessageId()) : "null") +
-                ", createTime=" + createTime +
+                ", createTime=" + getCreateTime() +
                 ", currentProcessorIndex=" + currentProcessorIndex +
                 ", shouldContinue=" + shouldContinue +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.jt808.protocol.processor;
+
+import com.jt808.protocol.message.JT808Message;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 处理上下文池
+ * <p>
+ * 每个Event Loop线程各自缓存最多 {@code maxPooledPerThread} 个上下文，获取和归还都在本线程完成，不加锁；
+ * 不在Event Loop线程（如工作线程、虚拟线程）上获取时新建，归还时丢弃。处理链在会话所在的Event Loop上开始和完成，
+ * 稳定运行时每条消息不再分配上下文和属性数组。
+ */
+public final class ProcessContextPool {
+
+    private final Vertx vertx;
+    private final JsonObject config;
+    private final int maxPooledPerThread;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadLocal<ArrayDeque<ProcessContext>> pool;
+
+    /**
+     * @param vertx Vertx实例
+     * @param config 传给上下文的配置，可以为null
+     * @param maxPooledPerThread 每个线程最多缓存的上下文数，不大于0时不缓存
+     */
+    public ProcessContextPool(Vertx vertx, JsonObject config, int maxPooledPerThread) {
+        this.vertx = vertx;
+        this.config = config;
+        this.maxPooledPerThread = maxPooledPerThread;
+        this.pool = ThreadLocal.withInitial(() -> new ArrayDeque<>(Math.max(maxPooledPerThread, 0)));
+    }
+
+    /**
+     * 获取处理指定消息的上下文
+     */
+    public ProcessContext acquire(JT808Message message) {
+        long id = sequence.incrementAndGet();
+        if (pooling()) {
+            ProcessContext context = pool.get().pollLast();
+            if (context != null) {
+                context.reset(id, message, vertx, config);
+                return context;
+            }
+        }
+        return new ProcessContext(id, message, vertx, config);
+    }
+
+    /**
+     * 归还上下文，清除对消息和属性的引用
+     */
+    public void release(ProcessContext context) {
+        context.clear();
+        if (pooling()) {
+            ArrayDeque<ProcessContext> contexts = pool.get();
+            if (contexts.size() < maxPooledPerThread) {
+                contexts.addLast(context);
+            }
+        }
+    }
+
+    private boolean pooling() {
+        return maxPooledPerThread > 0 && Context.isOnEventLoopThread();
+    }
+
+    /**
+     * 当前线程缓存的上下文数
+     */
+    public int getPooledCount() {
+        return pooling() ? pool.get().size() : 0;
+    }
+
+    public int getMaxPooledPerThread() {
+        return maxPooledPerThread;
+    }
+}
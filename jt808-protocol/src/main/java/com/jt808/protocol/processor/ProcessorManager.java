@@ -1,5 +1,8 @@
 package com.jt808.protocol.processor;
 
+import com.jt808.common.util.LatencyHistogram;
+import com.jt808.common.util.PhoneNumberUtils;
+import com.jt808.protocol.message.JT808Header;
 import com.jt808.protocol.message.JT808Message;
 import com.jt808.protocol.processor.impl.MessageRouter;
 import com.jt808.protocol.processor.impl.MessageValidator;
@@ -18,6 +21,16 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * 处理器管理器
  * 负责管理和协调所有消息处理器的工作
+ * <p>
+ * {@code processor.executor} 决定处理链在哪里执行：{@code caller}（默认）在调用方的上下文中执行；
+ * {@code worker}（{@code processor.workerThreads} 个平台线程）和 {@code virtual}（虚拟线程）按终端标识排序，
+ * 同一终端的消息按到达顺序逐条处理，不同终端的消息并行处理，每个终端最多排队 {@code processor.maxQueuedPerTerminal} 条。
+ * <p>
+ * 阻塞处理器（{@link MessageProcessor#isBlocking()}）在虚拟线程中执行（{@code processor.blocking.enabled}，默认开启），
+ * 最多同时执行 {@code processor.blocking.maxConcurrency} 个。开启 {@code processor.blocking.pinningMonitor}（默认关闭）时
+ * 通过JFR统计超过 {@code processor.blocking.pinnedThreshold} 毫秒的载体线程pinning。
+ * <p>
+ * 处理上下文在每个Event Loop线程上复用，每个线程最多缓存 {@code processor.contextPoolSize} 个（0表示不复用）。
  */
 public class ProcessorManager {
 
@@ -27,6 +40,9 @@ public class ProcessorManager {
     private final MessageProcessorChain processorChain;
     private final Map<String, MessageProcessor> processors;
     private final JsonObject config;
+    private final KeyedExecutor keyedExecutor;
+    private final BlockingProcessorExecutor blockingExecutor;
+    private final ProcessContextPool contextPool;
     
     // 各个处理器实例
     private PerformanceMonitor performanceMonitor;
@@ -41,12 +57,39 @@ public class ProcessorManager {
     public ProcessorManager(Vertx vertx, JsonObject config) {
         this.vertx = vertx;
         this.config = config;
-        this.processorChain = new MessageProcessorChain(vertx);
+        this.processorChain = new MessageProcessorChain(vertx, config.getBoolean("processor.compiledPipeline", false));
         this.processors = new ConcurrentHashMap<>();
+        this.keyedExecutor = createKeyedExecutor(config);
+        this.blockingExecutor = config.getBoolean("processor.blocking.enabled", true)
+                ? new BlockingProcessorExecutor(config.getInteger("processor.blocking.maxConcurrency", 16),
+                        config.getBoolean("processor.blocking.pinningMonitor", false)
+                                ? config.getLong("processor.blocking.pinnedThreshold", 20L) : 0L)
+                : null;
+        processorChain.setBlockingExecutor(blockingExecutor);
+        this.contextPool = new ProcessContextPool(vertx, config, config.getInteger("processor.contextPoolSize", 256));
         
         initializeProcessors();
     }
     
+    /**
+     * 按配置创建按终端排序的执行器，在调用方上下文中执行时返回null
+     */
+    private static KeyedExecutor createKeyedExecutor(JsonObject config) {
+        String mode = config.getString("processor.executor", "caller");
+        int maxQueued = config.getInteger("processor.maxQueuedPerTerminal", 1024);
+        switch (mode) {
+            case "caller":
+                return null;
+            case "worker":
+                int threads = config.getInteger("processor.workerThreads", Runtime.getRuntime().availableProcessors());
+                return KeyedExecutor.workerThreads(threads, maxQueued);
+            case "virtual":
+                return KeyedExecutor.virtualThreads(maxQueued);
+            default:
+                throw new IllegalArgumentException("Unknown processor.executor: " + mode);
+        }
+    }
+    
     /**
      * 初始化所有处理器
      */
@@ -70,6 +113,7 @@ public class ProcessorManager {
             // 创建消息路由器
             messageRouter = new MessageRouter();
             addProcessor(messageRouter);
+            messageRouter.setRoutesChangedListener(processorChain::recompile);
             
             logger.info("Initialized ProcessorManager with {} processors", processors.size());
             
@@ -90,18 +134,19 @@ public class ProcessorManager {
     
     /**
      * 处理消息
+     * <p>
+     * 使用上下文池中的上下文，处理完成后记录到性能监控器并归还。
      */
     public Future<List<ProcessResult>> processMessage(JT808Message message) {
-        return processorChain.process(message)
-            .onSuccess(results -> {
-                // 记录处理完成事件到性能监控器
-                if (performanceMonitor != null) {
-                    ProcessContext context = createProcessContext(message);
-                    results.forEach(result -> performanceMonitor.recordProcessingComplete(context, result));
+        ProcessContext context = contextPool.acquire(message);
+        return runChain(context)
+            .onComplete(ar -> {
+                if (ar.succeeded()) {
+                    recordProcessingComplete(context, ar.result());
+                } else {
+                    logger.error("Error processing message 0x{}", Integer.toHexString(message.getMessageId()), ar.cause());
                 }
-            })
-            .onFailure(error -> {
-                logger.error("Error processing message 0x{}", Integer.toHexString(message.getMessageId()), error);
+                contextPool.release(context);
             });
     }
     
@@ -109,13 +154,8 @@ public class ProcessorManager {
      * 处理消息（使用指定上下文）
      */
     public Future<List<ProcessResult>> processMessage(ProcessContext context) {
-        return processorChain.process(context)
-            .onSuccess(results -> {
-                // 记录处理完成事件到性能监控器
-                if (performanceMonitor != null) {
-                    results.forEach(result -> performanceMonitor.recordProcessingComplete(context, result));
-                }
-            })
+        return runChain(context)
+            .onSuccess(results -> recordProcessingComplete(context, results))
             .onFailure(error -> {
                 logger.error("Error processing message 0x{} with context {}", 
                         Integer.toHexString(context.getMessage().getMessageId()), 
@@ -123,12 +163,29 @@ public class ProcessorManager {
             });
     }
     
+    private Future<List<ProcessResult>> runChain(ProcessContext context) {
+        return keyedExecutor == null ? processorChain.process(context)
+                : keyedExecutor.submit(orderingKey(context.getMessage()),
+                        () -> processorChain.process(context, keyedExecutor.resumeExecutor()));
+    }
+    
     /**
-     * 创建处理上下文
+     * 记录处理完成事件到性能监控器
      */
-    private ProcessContext createProcessContext(JT808Message message) {
-        String contextId = "ctx-" + System.currentTimeMillis() + "-" + message.getMessageId();
-        return new ProcessContext(contextId, message, vertx, config);
+    private void recordProcessingComplete(ProcessContext context, List<ProcessResult> results) {
+        if (performanceMonitor != null) {
+            for (int i = 0; i < results.size(); i++) {
+                performanceMonitor.recordProcessingComplete(context, results.get(i));
+            }
+        }
+    }
+    
+    /**
+     * 排序键：终端标识，没有消息头或手机号无效的消息共用 {@link PhoneNumberUtils#INVALID_KEY}
+     */
+    private static long orderingKey(JT808Message message) {
+        JT808Header header = message.getHeader();
+        return header != null ? header.getTerminalKey() : PhoneNumberUtils.INVALID_KEY;
     }
     
     /**
@@ -166,6 +223,20 @@ public class ProcessorManager {
         return messageRouter;
     }
     
+    /**
+     * 获取按终端排序的执行器，在调用方上下文中执行时为null
+     */
+    public KeyedExecutor getKeyedExecutor() {
+        return keyedExecutor;
+    }
+    
+    /**
+     * 获取阻塞处理器的执行器，未开启时为null
+     */
+    public BlockingProcessorExecutor getBlockingExecutor() {
+        return blockingExecutor;
+    }
+    
     /**
      * 获取处理器链
      */
@@ -235,16 +306,39 @@ public class ProcessorManager {
         // 处理器链统计
         JsonObject chainStats = new JsonObject();
         processorChain.getAllStats().forEach((name, stats) -> {
+            LatencyHistogram.Snapshot latency = stats.getLatency();
             JsonObject processorStats = new JsonObject()
                     .put("totalCount", stats.getTotalCount())
                     .put("successCount", stats.getSuccessCount())
                     .put("failedCount", stats.getFailedCount())
                     .put("successRate", stats.getSuccessRate())
-                    .put("averageDuration", stats.getAverageDuration());
+                    .put("averageDuration", stats.getAverageDuration())
+                    .put("p50Micros", latency.getP50())
+                    .put("p99Micros", latency.getP99())
+                    .put("p999Micros", latency.getP999())
+                    .put("maxMicros", latency.getMax());
             chainStats.put(name, processorStats);
         });
         status.put("processorChain", chainStats);
         
+        // 执行器统计
+        if (keyedExecutor != null) {
+            status.put("executor", new JsonObject()
+                    .put("activeTerminals", keyedExecutor.getActiveKeyCount())
+                    .put("submitted", keyedExecutor.getSubmittedCount())
+                    .put("completed", keyedExecutor.getCompletedCount())
+                    .put("rejected", keyedExecutor.getRejectedCount()));
+        }
+        if (blockingExecutor != null) {
+            status.put("blocking", new JsonObject()
+                    .put("active", blockingExecutor.getActiveCount())
+                    .put("waiting", blockingExecutor.getWaitingCount())
+                    .put("completed", blockingExecutor.getCompletedCount())
+                    .put("failed", blockingExecutor.getFailedCount())
+                    .put("pinnedCount", blockingExecutor.getPinnedCount())
+                    .put("pinnedMillis", blockingExecutor.getPinnedMillis()));
+        }
+        
         return status;
     }
     
@@ -267,6 +361,12 @@ public class ProcessorManager {
         
         // 清理资源
         processors.clear();
+        if (keyedExecutor != null) {
+            keyedExecutor.shutdown();
+        }
+        if (blockingExecutor != null) {
+            blockingExecutor.shutdown();
+        }
         
         // 这里可以添加其他清理逻辑
         
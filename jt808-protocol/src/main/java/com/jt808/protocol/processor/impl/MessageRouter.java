@@ -2,6 +2,7 @@ package com.jt808.protocol.processor.impl;
 
 import com.jt808.protocol.message.*;
 import com.jt808.protocol.message.T0001TerminalCommonResponse;
+import com.jt808.protocol.processor.AttributeKey;
 import com.jt808.protocol.processor.MessageProcessor;
 import com.jt808.protocol.processor.ProcessContext;
 import com.jt808.protocol.processor.ProcessResult;
@@ -18,13 +19,20 @@ import java.util.function.Function;
 /**
  * 消息路由器
  * 负责根据消息类型将消息路由到对应的处理方法
+ * <p>
+ * 编译模式的处理链按 {@link #canProcess(int)} 为没有路由的消息ID剔除本处理器；路由增删后通过
+ * {@link #setRoutesChangedListener(Runnable)} 通知处理链重新生成处理计划。
  */
 public class MessageRouter implements MessageProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageRouter.class);
     
+    /** 路由处理器返回的应答消息 */
+    public static final AttributeKey<JT808Message> RESPONSE_MESSAGE = AttributeKey.of("responseMessage");
+    
     private final Map<Integer, Function<JT808Message, Future<JT808Message>>> messageHandlers;
     private final String name;
+    private volatile Runnable routesChangedListener;
     
     public MessageRouter() {
         this.name = "MessageRouter";
@@ -54,7 +62,7 @@ public class MessageRouter implements MessageProcessor {
                 .onSuccess(responseMessage -> {
                     long duration = System.currentTimeMillis() - startTime;
                     if (responseMessage != null) {
-                        context.setAttribute("responseMessage", responseMessage);
+                        context.set(RESPONSE_MESSAGE, responseMessage);
                     }
                     promise.complete(ProcessResult.success(name, duration, responseMessage));
                 })
@@ -88,6 +96,20 @@ public class MessageRouter implements MessageProcessor {
         return messageHandlers.containsKey(message.getMessageId());
     }
     
+    @Override
+    public boolean canProcess(int messageId) {
+        return messageHandlers.containsKey(messageId);
+    }
+    
+    /**
+     * 设置路由增删的监听器，处理链据此重新生成处理计划
+     * 
+     * @param listener 监听器，为null时不通知
+     */
+    public void setRoutesChangedListener(Runnable listener) {
+        this.routesChangedListener = listener;
+    }
+    
     /**
      * 注册消息处理器
      * 
@@ -95,7 +117,9 @@ public class MessageRouter implements MessageProcessor {
      * @param handler 处理函数
      */
     public void registerHandler(int messageId, Function<JT808Message, Future<JT808Message>> handler) {
-        messageHandlers.put(messageId, handler);
+        if (messageHandlers.put(messageId, handler) == null) {
+            routesChanged();
+        }
         logger.debug("Registered handler for message ID: 0x{}", Integer.toHexString(messageId));
     }
     
@@ -105,10 +129,19 @@ public class MessageRouter implements MessageProcessor {
      * @param messageId 消息ID
      */
     public void removeHandler(int messageId) {
-        messageHandlers.remove(messageId);
+        if (messageHandlers.remove(messageId) != null) {
+            routesChanged();
+        }
         logger.debug("Removed handler for message ID: 0x{}", Integer.toHexString(messageId));
     }
     
+    private void routesChanged() {
+        Runnable listener = routesChangedListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+    
     /**
      * 获取已注册的消息ID集合
      */
@@ -3,11 +3,11 @@ package com.jt808.protocol.processor.impl;
 import com.jt808.protocol.message.JT808Message;
 import com.jt808.protocol.message.T0100TerminalRegister;
 import com.jt808.protocol.message.T0200LocationReport;
+import com.jt808.protocol.processor.AttributeKey;
 import com.jt808.protocol.processor.MessageProcessor;
 import com.jt808.protocol.processor.ProcessContext;
 import com.jt808.protocol.processor.ProcessResult;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +23,11 @@ public class MessageValidator implements MessageProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageValidator.class);
     
+    /** 非严格模式下的验证警告 */
+    public static final AttributeKey<List<String>> VALIDATION_WARNINGS = AttributeKey.of("validationWarnings");
+    /** 验证结果 */
+    public static final AttributeKey<ValidationResult> VALIDATION_RESULT = AttributeKey.of("validationResult");
+    
     private final String name;
     private final Map<Integer, List<ValidationRule>> validationRules;
     private final List<ValidationRule> globalRules;
@@ -42,42 +47,45 @@ public class MessageValidator implements MessageProcessor {
     
     @Override
     public Future<ProcessResult> process(ProcessContext context) {
+        return Future.succeededFuture(processSync(context));
+    }
+    
+    @Override
+    public ProcessResult processSync(ProcessContext context) {
         long startTime = System.currentTimeMillis();
-        Promise<ProcessResult> promise = Promise.promise();
         
         try {
             JT808Message message = context.getMessage();
             ValidationResult result = validateMessage(message, context);
+            ProcessResult processResult;
             
             if (!result.isValid()) {
                 long duration = System.currentTimeMillis() - startTime;
                 String errorMsg = "Message validation failed: " + String.join(", ", result.getErrors());
                 
                 if (strictMode) {
-                    promise.complete(ProcessResult.failed(name, duration, errorMsg));
+                    processResult = ProcessResult.failed(name, duration, errorMsg);
                 } else {
                     logger.warn("Validation warnings for message 0x{}: {}", 
                             Integer.toHexString(message.getMessageId()), errorMsg);
                     ProcessResult successResult = ProcessResult.success(name, duration);
                     // 将验证警告添加到上下文而不是结果中
-                    context.setAttribute("validationWarnings", result.getErrors());
-                    promise.complete(successResult);
+                    context.set(VALIDATION_WARNINGS, result.getErrors());
+                    processResult = successResult;
                 }
             } else {
                 long duration = System.currentTimeMillis() - startTime;
-                promise.complete(ProcessResult.success(name, duration));
+                processResult = ProcessResult.success(name, duration);
             }
             
             // 将验证结果添加到上下文中
-            context.setAttribute("validationResult", result);
-            
+            context.set(VALIDATION_RESULT, result);
+            return processResult;
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("Error in message validation", e);
-            promise.complete(ProcessResult.failed(name, duration, e));
+            return ProcessResult.failed(name, duration, e);
         }
-        
-        return promise.future();
     }
     
     @Override
@@ -85,6 +93,11 @@ public class MessageValidator implements MessageProcessor {
         return name;
     }
     
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+    
     @Override
     public int getPriority() {
         return 15; // 验证应该在路由之前，但在性能监控之后
@@ -95,6 +108,11 @@ public class MessageValidator implements MessageProcessor {
         return true; // 验证所有消息
     }
     
+    @Override
+    public boolean canProcess(int messageId) {
+        return true;
+    }
+    
     /**
      * 验证消息
      */
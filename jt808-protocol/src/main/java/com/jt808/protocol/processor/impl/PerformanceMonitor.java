@@ -1,11 +1,11 @@
 package com.jt808.protocol.processor.impl;
 
 import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.processor.AttributeKey;
 import com.jt808.protocol.processor.MessageProcessor;
 import com.jt808.protocol.processor.ProcessContext;
 import com.jt808.protocol.processor.ProcessResult;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +26,9 @@ public class PerformanceMonitor implements MessageProcessor {
     private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitor.class);
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
+    /** 消息开始处理的时间（毫秒） */
+    public static final AttributeKey<Long> MONITOR_START_TIME = AttributeKey.of("monitorStartTime");
+    
     private final String name;
     private final Map<Integer, MessageStats> messageStats;
     private final GlobalStats globalStats;
@@ -44,15 +47,19 @@ public class PerformanceMonitor implements MessageProcessor {
     
     @Override
     public Future<ProcessResult> process(ProcessContext context) {
+        return Future.succeededFuture(processSync(context));
+    }
+    
+    @Override
+    public ProcessResult processSync(ProcessContext context) {
         long startTime = System.currentTimeMillis();
-        Promise<ProcessResult> promise = Promise.promise();
         
         try {
             JT808Message message = context.getMessage();
             int messageId = message.getMessageId();
             
             // 记录消息开始处理时间
-            context.setAttribute("monitorStartTime", startTime);
+            context.set(MONITOR_START_TIME, startTime);
             
             // 更新统计信息
             updateMessageStats(messageId, startTime);
@@ -64,15 +71,12 @@ public class PerformanceMonitor implements MessageProcessor {
             }
             
             long duration = System.currentTimeMillis() - startTime;
-            promise.complete(ProcessResult.success(name, duration));
-            
+            return ProcessResult.success(name, duration);
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("Error in performance monitoring", e);
-            promise.complete(ProcessResult.failed(name, duration, e));
+            return ProcessResult.failed(name, duration, e);
         }
-        
-        return promise.future();
     }
     
     @Override
@@ -80,6 +84,11 @@ public class PerformanceMonitor implements MessageProcessor {
         return name;
     }
     
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+    
     @Override
     public int getPriority() {
         return 5; // 性能监控应该有很高的优先级，尽早开始计时
@@ -90,6 +99,11 @@ public class PerformanceMonitor implements MessageProcessor {
         return true; // 监控所有消息
     }
     
+    @Override
+    public boolean canProcess(int messageId) {
+        return true;
+    }
+    
     /**
      * 更新消息统计信息
      */
@@ -109,7 +123,7 @@ public class PerformanceMonitor implements MessageProcessor {
      * 记录消息详细信息
      */
     private void logMessageDetails(JT808Message message, ProcessContext context) {
-        String terminalId = context.getAttribute("terminalId", "unknown");
+        String terminalId = context.get(SessionHandler.TERMINAL_ID, "unknown");
         logger.debug("Processing message - ID: 0x{}, Terminal: {}, Context: {}, Time: {}",
                 Integer.toHexString(message.getMessageId()),
                 terminalId,
@@ -121,7 +135,7 @@ public class PerformanceMonitor implements MessageProcessor {
      * 记录消息处理完成
      */
     public void recordProcessingComplete(ProcessContext context, ProcessResult result) {
-        Long startTime = context.getAttribute("monitorStartTime");
+        Long startTime = context.get(MONITOR_START_TIME);
         if (startTime != null) {
             long duration = System.currentTimeMillis() - startTime;
             int messageId = context.getMessage().getMessageId();
@@ -1,11 +1,11 @@
 package com.jt808.protocol.processor.impl;
 
 import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.processor.AttributeKey;
 import com.jt808.protocol.processor.MessageProcessor;
 import com.jt808.protocol.processor.ProcessContext;
 import com.jt808.protocol.processor.ProcessResult;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +21,11 @@ public class SessionHandler implements MessageProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(SessionHandler.class);
     
+    /** 终端会话 */
+    public static final AttributeKey<SessionInfo> SESSION = AttributeKey.of("session");
+    /** 终端ID */
+    public static final AttributeKey<String> TERMINAL_ID = AttributeKey.of("terminalId");
+    
     private final String name;
     private final Map<String, SessionInfo> sessions;
     private final long sessionTimeoutMs;
@@ -37,8 +42,12 @@ public class SessionHandler implements MessageProcessor {
     
     @Override
     public Future<ProcessResult> process(ProcessContext context) {
+        return Future.succeededFuture(processSync(context));
+    }
+    
+    @Override
+    public ProcessResult processSync(ProcessContext context) {
         long startTime = System.currentTimeMillis();
-        Promise<ProcessResult> promise = Promise.promise();
         
         try {
             JT808Message message = context.getMessage();
@@ -46,35 +55,30 @@ public class SessionHandler implements MessageProcessor {
             
             if (terminalId == null) {
                 long duration = System.currentTimeMillis() - startTime;
-                promise.complete(ProcessResult.skipped(name, "No terminal ID found in message"));
-                return promise.future();
+                return ProcessResult.skipped(name, "No terminal ID found in message");
             }
             
             // 更新或创建会话
             SessionInfo session = updateSession(terminalId, message);
-            context.setAttribute("session", session);
-            context.setAttribute("terminalId", terminalId);
+            context.set(SESSION, session);
+            context.set(TERMINAL_ID, terminalId);
             
             // 验证会话状态
             if (!validateSession(session, message)) {
                 long duration = System.currentTimeMillis() - startTime;
-                promise.complete(ProcessResult.failed(name, duration, "Session validation failed for terminal: " + terminalId));
-                return promise.future();
+                return ProcessResult.failed(name, duration, "Session validation failed for terminal: " + terminalId);
             }
             
             // 清理过期会话
             cleanupExpiredSessions();
             
             long duration = System.currentTimeMillis() - startTime;
-            promise.complete(ProcessResult.success(name, duration));
-            
+            return ProcessResult.success(name, duration);
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("Error in session handling", e);
-            promise.complete(ProcessResult.failed(name, duration, e));
+            return ProcessResult.failed(name, duration, e);
         }
-        
-        return promise.future();
     }
     
     @Override
@@ -82,6 +86,11 @@ public class SessionHandler implements MessageProcessor {
         return name;
     }
     
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+    
     @Override
     public int getPriority() {
         return 20; // 会话处理应该在路由之后
@@ -92,6 +101,11 @@ public class SessionHandler implements MessageProcessor {
         return extractTerminalId(message) != null;
     }
     
+    @Override
+    public boolean canProcess(int messageId) {
+        return true; // 是否携带终端手机号只能在处理时判断
+    }
+    
     /**
      * 从消息中提取终端ID
      * 使用消息头中的终端手机号作为唯一标识
@@ -1,5 +1,6 @@
 package com.jt808.protocol.util;
 
+import com.jt808.common.util.ByteScanners;
 import com.jt808.common.util.ByteUtils;
 import io.vertx.core.buffer.Buffer;
 
@@ -102,13 +103,7 @@ public final class EscapeUtils {
             return false;
         }
 
-        for (int i = 0; i < data.length(); i++) {
-            byte b = data.getByte(i);
-            if (b == PROTOCOL_FLAG || b == ESCAPE_FLAG) {
-                return true;
-            }
-        }
-        return false;
+        return ByteScanners.indexOfEscape(data, 0, data.length()) >= 0;
     }
 
     /**
@@ -122,12 +117,7 @@ public final class EscapeUtils {
             return false;
         }
 
-        for (byte b : data) {
-            if (b == PROTOCOL_FLAG || b == ESCAPE_FLAG) {
-                return true;
-            }
-        }
-        return false;
+        return ByteScanners.get().indexOfEscape(data, 0, data.length) >= 0;
     }
 
     /**
@@ -141,14 +131,7 @@ public final class EscapeUtils {
             return 0;
         }
 
-        int count = 0;
-        for (int i = 0; i < data.length(); i++) {
-            byte b = data.getByte(i);
-            if (b == PROTOCOL_FLAG || b == ESCAPE_FLAG) {
-                count++;
-            }
-        }
-        return count;
+        return ByteScanners.countEscape(data, 0, data.length());
     }
 
     /**
@@ -162,13 +145,7 @@ public final class EscapeUtils {
             return 0;
         }
 
-        int count = 0;
-        for (byte b : data) {
-            if (b == PROTOCOL_FLAG || b == ESCAPE_FLAG) {
-                count++;
-            }
-        }
-        return count;
+        return ByteScanners.get().countEscape(data, 0, data.length);
     }
 
     /**
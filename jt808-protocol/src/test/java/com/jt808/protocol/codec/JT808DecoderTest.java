@@ -2,10 +2,13 @@ package com.jt808.protocol.codec;
 
 import com.jt808.common.exception.ProtocolException;
 import com.jt808.common.util.ByteUtils;
+import com.jt808.protocol.factory.JT808MessageFactory;
 import com.jt808.protocol.message.JT808Header;
 import com.jt808.protocol.message.JT808Message;
 import com.jt808.protocol.message.T0200LocationReport;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.buffer.impl.BufferImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -148,6 +151,16 @@ class JT808DecoderTest {
         assertNotNull(message.getHeader().getPackageInfo());
     }
 
+    @Test
+    void testDecodeSubpackageKeepsRawBody() throws ProtocolException {
+        // 分包消息体只是完整消息体的一段（终端通用应答需要5字节），不单独解码
+        JT808Message message = decoder.decode(createSubpackageMessage((byte) 0x12, (byte) 0x34));
+
+        assertTrue(message.getHeader().isSubpackage());
+        assertEquals(2, message.getBody().length());
+        assertEquals(0x1234, message.getBody().getUnsignedShort(0));
+    }
+
     /**
      * 创建一个有效的JT808消息
      */
@@ -278,7 +291,7 @@ class JT808DecoderTest {
     /**
      * 创建分包消息
      */
-    private Buffer createSubpackageMessage() {
+    private Buffer createSubpackageMessage(byte... body) {
         Buffer buffer = Buffer.buffer();
 
         // 标识位
@@ -304,6 +317,9 @@ class JT808DecoderTest {
         content.appendUnsignedShort(3); // 总包数
         content.appendUnsignedShort(1); // 包序号
 
+        // 分包消息体
+        content.appendBytes(body);
+
         // 校验码
         byte checksum = ByteUtils.calculateChecksum(content.getBytes(), 0, content.length());
         content.appendByte(checksum);
@@ -528,4 +544,104 @@ class JT808DecoderTest {
         logger.info("激活所有报警时的描述: {}", String.join(", ", allActiveAlarms));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testDecodeEscapedHeaderAndBody() throws ProtocolException {
+        byte[] body = {0x7E, 0x7D, 0x01, 0x02, 0x7D, 0x7E};
+        Buffer frame = createFrame(0x0F01, 0x7E7D, body);
+
+        JT808Message message = decoder.decode(frame);
+
+        assertInstanceOf(JT808MessageFactory.GenericJT808Message.class, message);
+        assertEquals(0x7E7D, message.getHeader().getSerialNumber());
+        assertEquals("123456789012", message.getHeader().getPhoneNumber());
+        assertEquals(Buffer.buffer(body), ((JT808MessageFactory.GenericJT808Message) message).getBodyData());
+    }
+
+    @Test
+    void testDecodeTerminalKey() throws ProtocolException {
+        JT808Message first = decoder.decode(createFrame(0x0F01, 1, new byte[0]));
+        JT808Message second = decoder.decode(createFrame(0x0F01, 2, new byte[0]));
+
+        assertEquals(123456789012L, first.getHeader().getTerminalKey());
+        // 同一终端的手机号为同一个字符串实例
+        assertSame(first.getHeader().getPhoneNumber(), second.getHeader().getPhoneNumber());
+    }
+
+    @Test
+    void testDecodeChecksumError() {
+        Buffer frame = createFrame(0x0F01, 1, new byte[]{0x01, 0x02, 0x03});
+        // 修改消息体中的一个字节，校验码不再匹配
+        frame.setByte(frame.length() - 3, (byte) 0x04);
+
+        ProtocolException exception = assertThrows(ProtocolException.class, () -> decoder.decode(frame));
+        assertEquals("校验码错误", exception.getMessage());
+    }
+
+    @Test
+    void testDecodeSliceOfLargerBuffer() throws ProtocolException {
+        Buffer frame = createFrame(0x0F01, 9, new byte[]{0x7E, 0x11});
+        Buffer stream = Buffer.buffer(new byte[]{0x01, 0x02, 0x03});
+        stream.appendBuffer(frame);
+        stream.appendBytes(new byte[]{0x04, 0x05});
+
+        JT808Message message = decoder.decode(stream.slice(3, 3 + frame.length()));
+
+        assertEquals(9, message.getHeader().getSerialNumber());
+        assertEquals(Buffer.buffer(new byte[]{0x7E, 0x11}),
+                ((JT808MessageFactory.GenericJT808Message) message).getBodyData());
+    }
+
+    @Test
+    void testDecodeSlicedFrame() throws ProtocolException {
+        // 分帧器交给解码器的是读取缓冲区的切片，帧不在底层数组的起始位置
+        Buffer frame = createFrame(0x0F01, 6, new byte[]{0x7D, 0x7E, 0x00});
+        Buffer stream = Buffer.buffer(new byte[]{0x01, 0x02, 0x03}).appendBuffer(frame).appendByte((byte) 0x04);
+
+        JT808Message message = decoder.decode(stream.slice(3, 3 + frame.length()));
+
+        assertEquals(6, message.getHeader().getSerialNumber());
+        assertEquals(Buffer.buffer(new byte[]{0x7D, 0x7E, 0x00}),
+                ((JT808MessageFactory.GenericJT808Message) message).getBodyData());
+    }
+
+    @Test
+    void testDecodeDirectBuffer() throws ProtocolException {
+        Buffer frame = createFrame(0x0F01, 5, new byte[]{0x7D, 0x7E, 0x00});
+        Buffer direct = BufferImpl.buffer(Unpooled.directBuffer(frame.length()).writeBytes(frame.getBytes()));
+
+        JT808Message message = decoder.decode(direct);
+
+        assertEquals(5, message.getHeader().getSerialNumber());
+        assertEquals(Buffer.buffer(new byte[]{0x7D, 0x7E, 0x00}),
+                ((JT808MessageFactory.GenericJT808Message) message).getBodyData());
+    }
+
+    @Test
+    void testDecodedBodyNotSharedBetweenMessages() throws ProtocolException {
+        JT808Message first = decoder.decode(createFrame(0x0F01, 1, new byte[]{0x11, 0x22, 0x33}));
+        decoder.decode(createFrame(0x0F01, 2, new byte[]{0x44, 0x55, 0x66}));
+
+        // 临时数组在解码之间复用，已解码消息的消息体不应受影响
+        assertEquals(Buffer.buffer(new byte[]{0x11, 0x22, 0x33}),
+                ((JT808MessageFactory.GenericJT808Message) first).getBodyData());
+    }
+
+    /**
+     * 创建指定消息ID、流水号和消息体的完整帧
+     */
+    private Buffer createFrame(int messageId, int serialNumber, byte[] body) {
+        Buffer content = Buffer.buffer();
+        content.appendUnsignedShort(messageId);
+        content.appendUnsignedShort(body.length);
+        content.appendBytes(ByteUtils.toBCD(123456789012L, 6));
+        content.appendUnsignedShort(serialNumber);
+        content.appendBytes(body);
+        content.appendByte(ByteUtils.calculateChecksum(content.getBytes(), 0, content.length()));
+
+        Buffer buffer = Buffer.buffer();
+        buffer.appendByte((byte) 0x7E);
+        buffer.appendBuffer(ByteUtils.escape(content));
+        buffer.appendByte((byte) 0x7E);
+        return buffer;
+    }
+}
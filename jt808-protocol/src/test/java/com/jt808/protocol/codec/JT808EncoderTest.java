@@ -0,0 +1,184 @@
+package com.jt808.protocol.codec;
+
+import com.jt808.common.exception.ProtocolException;
+import com.jt808.common.util.ByteUtils;
+import com.jt808.protocol.message.JT808Header;
+import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.message.T0002TerminalHeartbeat;
+import com.jt808.protocol.message.T8001PlatformCommonResponse;
+import com.jt808.protocol.message.T8100TerminalRegisterResponse;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JT808编码器测试
+ */
+class JT808EncoderTest {
+
+    private JT808Encoder encoder;
+    private JT808Decoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new JT808Encoder();
+        decoder = new JT808Decoder();
+    }
+
+    @Test
+    @DisplayName("测试平台通用应答编码与逐步拼接结果一致")
+    void testEncodeCommonResponse() throws ProtocolException {
+        T8001PlatformCommonResponse response = new T8001PlatformCommonResponse(0x1234, 0x0200, (byte) 0);
+        response.setHeader(new JT808Header(0x8001, "13800138000", 100));
+
+        Buffer encoded = encoder.encode(response);
+
+        assertEquals(referenceEncode(response), encoded);
+        assertEquals(5, response.getHeader().getBodyLength());
+
+        T8001PlatformCommonResponse decoded = (T8001PlatformCommonResponse) decoder.decode(encoded);
+        assertEquals(0x1234, decoded.getResponseSerialNumber());
+        assertEquals(0x0200, decoded.getResponseMessageId());
+    }
+
+    @Test
+    @DisplayName("测试消息头、消息体和校验码中的转义字符")
+    void testEncodeWithEscapes() throws ProtocolException {
+        T8001PlatformCommonResponse response = new T8001PlatformCommonResponse(0x7E7D, 0x7D7E, (byte) 0x7E);
+        response.setHeader(new JT808Header(0x8001, "13800138000", 0x7E7E));
+
+        Buffer encoded = encoder.encode(response);
+
+        assertEquals(referenceEncode(response), encoded);
+        for (int i = 1; i < encoded.length() - 1; i++) {
+            assertNotEquals((byte) 0x7E, encoded.getByte(i), "帧内不应出现标识位");
+        }
+
+        T8001PlatformCommonResponse decoded = (T8001PlatformCommonResponse) decoder.decode(encoded);
+        assertEquals(0x7E7E, decoded.getHeader().getSerialNumber());
+        assertEquals(0x7E7D, decoded.getResponseSerialNumber());
+        assertEquals(0x7D7E, decoded.getResponseMessageId());
+        assertEquals((byte) 0x7E, decoded.getResult());
+    }
+
+    @Test
+    @DisplayName("测试大量转义字符超出预留容量")
+    void testEncodeManyEscapes() throws ProtocolException {
+        byte[] body = new byte[100];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i % 2 == 0 ? 0x7E : 0x7D);
+        }
+        RawMessage message = new RawMessage(body, 0);
+        message.setHeader(new JT808Header(0x0F01, "13800138000", 1));
+
+        Buffer encoded = encoder.encode(message);
+
+        assertEquals(referenceEncode(message), encoded);
+        assertEquals(100, decoder.decode(encoded).getHeader().getBodyLength());
+    }
+
+    @Test
+    @DisplayName("测试预估长度与实际长度不一致时以实际长度为准")
+    void testEncodeWithInaccurateLengthHint() {
+        RawMessage message = new RawMessage(new byte[]{0x01, 0x02, 0x03}, 1);
+        message.setHeader(new JT808Header(0x0F01, "13800138000", 2));
+
+        Buffer encoded = encoder.encode(message);
+
+        assertEquals(3, message.getHeader().getBodyLength());
+        assertEquals(referenceEncode(message), encoded);
+    }
+
+    @Test
+    @DisplayName("测试未提供消息体长度的消息")
+    void testEncodeWithoutLengthHint() {
+        T8100TerminalRegisterResponse response =
+                T8100TerminalRegisterResponse.createSuccessResponse(8, "AUTH1234");
+        response.setHeader(new JT808Header(0x8100, "13800138000", 3));
+        RawMessage message = new RawMessage(response.encodeBody().getBytes(), -1);
+        message.setHeader(new JT808Header(0x0F01, "13800138000", 3));
+
+        assertEquals(referenceEncode(message), encoder.encode(message));
+        assertEquals(referenceEncode(response), encoder.encode(response));
+    }
+
+    @Test
+    @DisplayName("测试2019版本和分包消息头")
+    void testEncodeVersionAndSubpackageHeader() throws ProtocolException {
+        T0002TerminalHeartbeat heartbeat = new T0002TerminalHeartbeat();
+        JT808Header header = new JT808Header(0x0002, "13800138000", 4);
+        header.setProtocolVersion((byte) 1);
+        header.setSubpackage(true);
+        header.setPackageInfo(new JT808Header.PackageInfo(2, 1));
+        heartbeat.setHeader(header);
+
+        Buffer encoded = encoder.encode(heartbeat);
+
+        assertEquals(referenceEncode(heartbeat), encoded);
+        assertEquals(0, heartbeat.getHeader().getBodyLength());
+    }
+
+    /**
+     * 按消息头、消息体、校验码逐步拼接后整体转义的参考实现
+     */
+    private Buffer referenceEncode(JT808Message message) {
+        JT808Header header = message.getHeader();
+        Buffer body = message.encodeBody();
+
+        Buffer content = Buffer.buffer();
+        content.appendUnsignedShort(header.getMessageId());
+        content.appendUnsignedShort((header.getMessageProperty() & 0xFC00) | body.length());
+        if (header.getProtocolVersion() != 0) {
+            content.appendByte(header.getProtocolVersion());
+        }
+        content.appendBytes(ByteUtils.toBCD(Long.parseLong(header.getPhoneNumber()), 6));
+        content.appendUnsignedShort(header.getSerialNumber());
+        if (header.isSubpackage() && header.getPackageInfo() != null) {
+            content.appendUnsignedShort(header.getPackageInfo().getTotalPackages());
+            content.appendUnsignedShort(header.getPackageInfo().getPackageSequence());
+        }
+        content.appendBuffer(body);
+        content.appendByte(ByteUtils.calculateChecksum(content, 0, content.length()));
+
+        Buffer frame = Buffer.buffer();
+        frame.appendByte((byte) 0x7E);
+        frame.appendBuffer(ByteUtils.escape(content));
+        frame.appendByte((byte) 0x7E);
+        return frame;
+    }
+
+    /**
+     * 消息体为固定字节的测试消息，可指定预估长度
+     */
+    private static class RawMessage extends JT808Message {
+        private final byte[] body;
+        private final int lengthHint;
+
+        RawMessage(byte[] body, int lengthHint) {
+            this.body = body;
+            this.lengthHint = lengthHint;
+        }
+
+        @Override
+        public int getMessageId() {
+            return 0x0F01;
+        }
+
+        @Override
+        public Buffer encodeBody() {
+            return Buffer.buffer(body);
+        }
+
+        @Override
+        public int getEncodedBodyLength() {
+            return lengthHint;
+        }
+
+        @Override
+        public void decodeBody(Buffer body) {
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.jt808.protocol.codec;
+
+import com.jt808.common.exception.ProtocolException;
+import com.jt808.protocol.message.JT808Header;
+import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.message.T0002TerminalHeartbeat;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JT808 TCP流分帧器测试
+ */
+class JT808FrameDecoderTest {
+
+    private JT808Encoder encoder;
+    private JT808Decoder decoder;
+    private List<Buffer> frames;
+    private JT808FrameDecoder frameDecoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new JT808Encoder();
+        decoder = new JT808Decoder();
+        frames = new ArrayList<>();
+        frameDecoder = new JT808FrameDecoder(256, frames::add);
+    }
+
+    @Test
+    @DisplayName("测试单个完整帧")
+    void testSingleFrame() throws ProtocolException {
+        Buffer frame = createHeartbeatFrame(1);
+
+        frameDecoder.handle(frame);
+
+        assertEquals(1, frames.size());
+        assertEquals(frame, frames.get(0));
+        assertEquals(1, frameDecoder.getFrameCount());
+        assertEquals(0, frameDecoder.getBufferedBytes());
+        assertEquals(0x0002, decoder.decode(frames.get(0)).getMessageId());
+    }
+
+    @Test
+    @DisplayName("测试粘包：一次读取包含多帧")
+    void testCoalescedFrames() throws ProtocolException {
+        Buffer chunk = Buffer.buffer();
+        for (int i = 1; i <= 5; i++) {
+            chunk.appendBuffer(createHeartbeatFrame(i));
+        }
+
+        frameDecoder.handle(chunk);
+
+        assertEquals(5, frames.size());
+        for (int i = 0; i < 5; i++) {
+            JT808Message message = decoder.decode(frames.get(i));
+            assertEquals(i + 1, message.getHeader().getSerialNumber());
+        }
+        assertEquals(0, frameDecoder.getDiscardedBytes());
+    }
+
+    @Test
+    @DisplayName("测试拆包：一帧分多次到达")
+    void testSplitFrame() throws ProtocolException {
+        Buffer frame = createHeartbeatFrame(7);
+
+        for (int i = 0; i < frame.length(); i++) {
+            frameDecoder.handle(frame.getBuffer(i, i + 1));
+            if (i < frame.length() - 1) {
+                assertTrue(frames.isEmpty());
+            }
+        }
+
+        assertEquals(1, frames.size());
+        assertEquals(frame, frames.get(0));
+        assertEquals(7, decoder.decode(frames.get(0)).getHeader().getSerialNumber());
+    }
+
+    @Test
+    @DisplayName("测试粘包和拆包混合")
+    void testMixedSplitAndCoalesced() throws ProtocolException {
+        Buffer stream = Buffer.buffer();
+        for (int i = 1; i <= 20; i++) {
+            stream.appendBuffer(createHeartbeatFrame(i));
+        }
+
+        // 按不规则长度切分
+        int offset = 0;
+        int step = 3;
+        while (offset < stream.length()) {
+            int end = Math.min(stream.length(), offset + step);
+            frameDecoder.handle(stream.getBuffer(offset, end));
+            offset = end;
+            step = step % 37 + 11;
+        }
+
+        assertEquals(20, frames.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + 1, decoder.decode(frames.get(i)).getHeader().getSerialNumber());
+        }
+        assertEquals(0, frameDecoder.getBufferedBytes());
+    }
+
+    @Test
+    @DisplayName("测试帧外噪声被丢弃")
+    void testGarbageBetweenFrames() {
+        Buffer chunk = Buffer.buffer(new byte[]{0x01, 0x02, 0x03});
+        chunk.appendBuffer(createHeartbeatFrame(1));
+        chunk.appendBytes(new byte[]{0x05, 0x06});
+        chunk.appendBuffer(createHeartbeatFrame(2));
+
+        frameDecoder.handle(chunk);
+
+        assertEquals(2, frames.size());
+        assertEquals(5, frameDecoder.getDiscardedBytes());
+    }
+
+    @Test
+    @DisplayName("测试连续标识位重新同步")
+    void testConsecutiveFlags() {
+        Buffer chunk = Buffer.buffer(new byte[]{0x7E, 0x7E});
+        chunk.appendBuffer(createHeartbeatFrame(1).getBuffer(1, createHeartbeatFrame(1).length()));
+
+        frameDecoder.handle(chunk);
+
+        assertEquals(1, frames.size());
+        assertEquals(createHeartbeatFrame(1), frames.get(0));
+    }
+
+    @Test
+    @DisplayName("测试超长帧被丢弃并重新同步")
+    void testOversizeFrame() {
+        Buffer oversize = Buffer.buffer();
+        oversize.appendByte((byte) 0x7E);
+        for (int i = 0; i < 300; i++) {
+            oversize.appendByte((byte) 0x11);
+        }
+
+        // 超长帧分两次到达，第一次就超过上限
+        frameDecoder.handle(oversize);
+        assertEquals(0, frameDecoder.getBufferedBytes());
+        assertEquals(1, frameDecoder.getOversizeFrameCount());
+
+        Buffer tail = Buffer.buffer(new byte[]{0x11, 0x11, 0x7E});
+        tail.appendBuffer(createHeartbeatFrame(3));
+        frameDecoder.handle(tail);
+
+        assertEquals(1, frames.size());
+        assertEquals(createHeartbeatFrame(3), frames.get(0));
+    }
+
+    @Test
+    @DisplayName("测试同一次读取内的超长完整帧")
+    void testOversizeCompleteFrame() {
+        Buffer chunk = Buffer.buffer();
+        chunk.appendByte((byte) 0x7E);
+        for (int i = 0; i < 300; i++) {
+            chunk.appendByte((byte) 0x22);
+        }
+        chunk.appendByte((byte) 0x7E);
+        chunk.appendBuffer(createHeartbeatFrame(4));
+
+        frameDecoder.handle(chunk);
+
+        assertEquals(1, frames.size());
+        assertEquals(1, frameDecoder.getOversizeFrameCount());
+    }
+
+    @Test
+    @DisplayName("测试输出帧为零拷贝切片")
+    void testFramesAreSlices() {
+        Buffer chunk = Buffer.buffer();
+        chunk.appendBuffer(createHeartbeatFrame(1));
+        chunk.appendBuffer(createHeartbeatFrame(2));
+
+        frameDecoder.handle(chunk);
+
+        // 修改原始缓冲区，切片应同步可见
+        chunk.setByte(1, (byte) 0x55);
+        assertEquals((byte) 0x55, frames.get(0).getByte(1));
+    }
+
+    @Test
+    @DisplayName("测试重置后丢弃残留半帧")
+    void testReset() {
+        Buffer frame = createHeartbeatFrame(1);
+        frameDecoder.handle(frame.getBuffer(0, 5));
+        assertEquals(5, frameDecoder.getBufferedBytes());
+
+        frameDecoder.reset();
+
+        assertEquals(0, frameDecoder.getBufferedBytes());
+        frameDecoder.handle(frame);
+        assertEquals(1, frames.size());
+    }
+
+    @Test
+    @DisplayName("测试非法最大帧长度")
+    void testInvalidMaxFrameLength() {
+        assertThrows(IllegalArgumentException.class, () -> new JT808FrameDecoder(1));
+    }
+
+    private Buffer createHeartbeatFrame(int serialNumber) {
+        T0002TerminalHeartbeat heartbeat = new T0002TerminalHeartbeat();
+        heartbeat.setHeader(new JT808Header(0x0002, "13800138000", serialNumber));
+        return encoder.encode(heartbeat);
+    }
+}
@@ -152,21 +152,21 @@ class JT808ComponentsExample {
         JT808MessageFactory factory = JT808MessageFactory.getInstance();
 
         // 1. 注册自定义消息类型
-        factory.registerMessage(0x9001, () -> new CustomTestMessage(0x9001));
+        factory.registerMessage(0x9002, () -> new CustomTestMessage(0x9002));
 
         // 2. 检查是否支持
-        assertTrue(factory.isSupported(0x9001));
-        logger.info("1. 自定义消息类型 0x9001 注册成功");
+        assertTrue(factory.isSupported(0x9002));
+        logger.info("1. 自定义消息类型 0x9002 注册成功");
 
         // 3. 创建自定义消息
-        JT808Message customMessage = factory.createMessage(0x9001);
+        JT808Message customMessage = factory.createMessage(0x9002);
         assertInstanceOf(CustomTestMessage.class, customMessage);
-        assertEquals(0x9001, customMessage.getMessageId());
+        assertEquals(0x9002, customMessage.getMessageId());
         logger.info("2. 创建自定义消息: {}", customMessage.getClass().getSimpleName());
 
         // 4. 获取所有支持的消息ID
         var supportedIds = factory.getSupportedMessageIds();
-        assertTrue(supportedIds.contains(0x9001));
+        assertTrue(supportedIds.contains(0x9002));
         logger.info("3. 支持的消息类型数量: {}", supportedIds.size());
     }
 
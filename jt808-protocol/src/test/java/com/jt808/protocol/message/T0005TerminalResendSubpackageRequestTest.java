@@ -0,0 +1,45 @@
+package com.jt808.protocol.message;
+
+import com.jt808.protocol.factory.JT808MessageFactory;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * T0005终端补传分包请求消息测试类
+ */
+public class T0005TerminalResendSubpackageRequestTest {
+
+    @Test
+    void testMessageId() {
+        assertEquals(0x0005, new T0005TerminalResendSubpackageRequest().getMessageId());
+        assertInstanceOf(T0005TerminalResendSubpackageRequest.class,
+                JT808MessageFactory.getInstance().createMessage(0x0005));
+    }
+
+    @Test
+    void testEncodeAndDecode() {
+        T0005TerminalResendSubpackageRequest message =
+                new T0005TerminalResendSubpackageRequest(4321, List.of(2, 300, 4096));
+
+        Buffer encoded = message.encodeBody();
+        assertEquals(9, encoded.length()); // 2字节流水号 + 1字节包数量 + 3个2字节包序号
+        assertEquals(4321, encoded.getUnsignedShort(0));
+        assertEquals(3, encoded.getUnsignedByte(2));
+        assertEquals(300, encoded.getUnsignedShort(5));
+
+        T0005TerminalResendSubpackageRequest decoded = new T0005TerminalResendSubpackageRequest();
+        decoded.decodeBody(encoded);
+        assertEquals(4321, decoded.getOriginalSerialNumber());
+        assertEquals(List.of(2, 300, 4096), decoded.getRetransmitPackageIds());
+    }
+
+    @Test
+    void testDecodeTruncated() {
+        Buffer body = Buffer.buffer().appendUnsignedShort(1).appendUnsignedByte((short) 2).appendUnsignedShort(1);
+        assertThrows(IllegalArgumentException.class, () -> new T0005TerminalResendSubpackageRequest().decodeBody(body));
+    }
+}
@@ -1,5 +1,6 @@
 package com.jt808.protocol.message;
 
+import com.jt808.protocol.codec.JT808Decoder;
 import io.vertx.core.buffer.Buffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,12 +54,12 @@ public class T8003ResendSubpackageRequestTest {
         Buffer encoded = message.encodeBody();
 
         // 验证编码结果
-        assertEquals(6, encoded.length()); // 2字节流水号 + 1字节包数量 + 3字节包序号
+        assertEquals(9, encoded.length()); // 2字节流水号 + 1字节包数量 + 3个2字节包序号
         assertEquals(5678, encoded.getUnsignedShort(0)); // 原始消息流水号
         assertEquals(3, encoded.getUnsignedByte(2)); // 重传包数量
-        assertEquals(2, encoded.getUnsignedByte(3)); // 第一个包序号
-        assertEquals(4, encoded.getUnsignedByte(4)); // 第二个包序号
-        assertEquals(6, encoded.getUnsignedByte(5)); // 第三个包序号
+        assertEquals(2, encoded.getUnsignedShort(3)); // 第一个包序号
+        assertEquals(4, encoded.getUnsignedShort(5)); // 第二个包序号
+        assertEquals(6, encoded.getUnsignedShort(7)); // 第三个包序号
 
         // 解码
         T8003ResendSubpackageRequest decoded = new T8003ResendSubpackageRequest();
@@ -119,13 +120,14 @@ public class T8003ResendSubpackageRequestTest {
     void testPackageIdValidation() {
         // 测试有效范围内的包序号
         message.addRetransmitPackageId(1);
-        message.addRetransmitPackageId(255);
-        assertEquals(2, message.getRetransmitPackageCount());
+        message.addRetransmitPackageId(256);
+        message.addRetransmitPackageId(65535);
+        assertEquals(3, message.getRetransmitPackageCount());
 
         // 测试无效的包序号（超出范围）
         int initialCount = message.getRetransmitPackageCount();
-        message.addRetransmitPackageId(0);   // 无效：小于1
-        message.addRetransmitPackageId(256); // 无效：大于255
+        message.addRetransmitPackageId(0);     // 无效：小于1
+        message.addRetransmitPackageId(65536); // 无效：大于65535
         assertEquals(initialCount, message.getRetransmitPackageCount()); // 数量不应该增加
     }
 
@@ -217,7 +219,7 @@ public class T8003ResendSubpackageRequestTest {
 
         // 编码和解码
         Buffer encoded = message.encodeBody();
-        assertEquals(103, encoded.length()); // 2 + 1 + 100
+        assertEquals(203, encoded.length()); // 2 + 1 + 100 * 2
 
         T8003ResendSubpackageRequest decoded = new T8003ResendSubpackageRequest();
         decoded.decodeBody(encoded);
@@ -243,4 +245,33 @@ public class T8003ResendSubpackageRequestTest {
         assertEquals(1234, msg.getOriginalSerialNumber());
         assertEquals(0, msg.getRetransmitPackageCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSpecEncodedFrame() throws Exception {
+        // 按标准编码的完整帧：原始流水号0x1234，重传2个分包，包序号1和256各占一个WORD
+        byte[] body = {0x12, 0x34, 0x02, 0x00, 0x01, 0x01, 0x00};
+        byte[] frame = {0x7E,
+                (byte) 0x80, 0x03, 0x00, 0x07, 0x01, 0x38, 0x00, 0x13, (byte) 0x80, 0x00, 0x00, 0x01,
+                0x12, 0x34, 0x02, 0x00, 0x01, 0x01, 0x00,
+                0x0B, 0x7E};
+
+        JT808Message parsed = new JT808Decoder().decode(Buffer.buffer(frame));
+        T8003ResendSubpackageRequest decoded = assertInstanceOf(T8003ResendSubpackageRequest.class, parsed);
+        assertEquals(0x1234, decoded.getOriginalSerialNumber());
+        assertEquals(List.of(1, 256), decoded.getRetransmitPackageIds());
+
+        assertArrayEquals(body, T8003ResendSubpackageRequest.create(0x1234, 1, 256).encodeBody().getBytes());
+    }
+
+    @Test
+    void testPackageCountLimit() {
+        for (int i = 1; i <= T8003ResendSubpackageRequest.MAX_PACKAGE_COUNT; i++) {
+            message.addRetransmitPackageId(i);
+        }
+        assertEquals(3 + T8003ResendSubpackageRequest.MAX_PACKAGE_COUNT * 2, message.encodeBody().length());
+
+        message.addRetransmitPackageId(1000);
+        assertThrows(IllegalStateException.class, message::encodeBody);
+        assertThrows(IllegalArgumentException.class, () -> message.decodeBody(Buffer.buffer(new byte[]{0x00, 0x01, 0x02, 0x00, 0x01})));
+    }
+}
@@ -0,0 +1,108 @@
+package com.jt808.protocol.processor;
+
+import io.vertx.core.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 阻塞处理器执行器测试
+ */
+class BlockingProcessorExecutorTest {
+
+    private BlockingProcessorExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new BlockingProcessorExecutor(2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRunsOnVirtualThread() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Future<Boolean> future = executor.execute(() -> Thread.currentThread().isVirtual());
+        future.onComplete(ar -> done.countDown());
+        await(done);
+
+        assertTrue(future.result());
+        assertFalse(executor.isMonitoringPinning());
+    }
+
+    @Test
+    void testConcurrencyLimit() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(6);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int value = i;
+            futures.add(executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                // 模拟阻塞的JDBC调用
+                release.await();
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+        futures.forEach(future -> future.onComplete(ar -> done.countDown()));
+
+        Thread.sleep(100);
+        assertEquals(2, executor.getActiveCount());
+        assertEquals(4, executor.getWaitingCount());
+        release.countDown();
+        await(done);
+
+        assertEquals(2, maxRunning.get());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, futures.get(i).result());
+        }
+        assertEquals(6, executor.getCompletedCount());
+    }
+
+    @Test
+    void testFailure() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Future<Object> future = executor.execute(() -> {
+            throw new IllegalStateException("connection refused");
+        });
+        future.onComplete(ar -> done.countDown());
+        await(done);
+
+        assertTrue(future.failed());
+        assertEquals("connection refused", future.cause().getMessage());
+        assertEquals(1, executor.getFailedCount());
+    }
+
+    @Test
+    void testPinningMonitorStartsOnFirstTask() throws InterruptedException {
+        BlockingProcessorExecutor monitored = new BlockingProcessorExecutor(1, 20);
+        try {
+            // 没有任务时不启动JFR录制流
+            assertFalse(monitored.isMonitoringPinning());
+            CountDownLatch done = new CountDownLatch(1);
+            monitored.execute(() -> null).onComplete(ar -> done.countDown());
+            await(done);
+            assertTrue(monitored.isMonitoringPinning());
+        } finally {
+            monitored.shutdown();
+        }
+    }
+}
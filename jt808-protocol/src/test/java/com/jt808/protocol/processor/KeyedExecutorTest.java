@@ -0,0 +1,120 @@
+package com.jt808.protocol.processor;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 按键有序执行器测试
+ */
+class KeyedExecutorTest {
+
+    private KeyedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = KeyedExecutor.workerThreads(4, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+    }
+
+    @Test
+    void testSameKeyRunsInOrder() {
+        KeyedExecutor unbounded = KeyedExecutor.workerThreads(4, 1000);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            unbounded.submit(13800138000L, () -> {
+                order.add(value);
+                done.countDown();
+                return Future.succeededFuture(value);
+            });
+        }
+        await(done);
+        unbounded.shutdown();
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void testNextTaskWaitsForAsyncCompletion() {
+        Promise<Void> first = Promise.promise();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        executor.submit(13800138000L, () -> {
+            firstStarted.countDown();
+            return first.future();
+        });
+        Future<String> second = executor.submit(13800138000L, () -> {
+            assertTrue(first.future().isComplete());
+            secondDone.countDown();
+            return Future.succeededFuture("second");
+        });
+
+        await(firstStarted);
+        assertFalse(second.isComplete());
+        first.complete();
+        await(secondDone);
+    }
+
+    @Test
+    void testDifferentKeysRunInParallel() {
+        CountDownLatch otherRan = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.submit(13800138000L, () -> {
+            // 另一个终端的任务不需要等待本任务
+            await(otherRan);
+            done.countDown();
+            return Future.succeededFuture();
+        });
+        executor.submit(13900139000L, () -> {
+            otherRan.countDown();
+            return Future.succeededFuture();
+        });
+        await(done);
+    }
+
+    @Test
+    void testQueueBoundPerKey() {
+        Promise<Void> blocker = Promise.promise();
+        executor.submit(13800138000L, blocker::future);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(executor.submit(13800138000L, Future::succeededFuture).failed());
+        }
+
+        Future<Object> rejected = executor.submit(13800138000L, Future::succeededFuture);
+        assertTrue(rejected.failed());
+        assertInstanceOf(RejectedExecutionException.class, rejected.cause());
+        assertEquals(1, executor.getRejectedCount());
+        // 其他终端不受影响
+        assertFalse(executor.submit(13900139000L, Future::succeededFuture).failed());
+
+        blocker.complete();
+    }
+}
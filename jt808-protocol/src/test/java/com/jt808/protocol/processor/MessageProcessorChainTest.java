@@ -0,0 +1,306 @@
+package com.jt808.protocol.processor;
+
+import com.jt808.protocol.message.JT808Header;
+import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.message.T0002TerminalHeartbeat;
+import com.jt808.protocol.message.T0200LocationReport;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 消息处理器链编译模式测试
+ */
+@ExtendWith(VertxExtension.class)
+class MessageProcessorChainTest {
+
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    private static JT808Message heartbeat() {
+        T0002TerminalHeartbeat message = new T0002TerminalHeartbeat();
+        message.setHeader(new JT808Header(0x0002, "13800138001", 1));
+        return message;
+    }
+
+    private static JT808Message locationReport() {
+        T0200LocationReport message = new T0200LocationReport();
+        message.setHeader(new JT808Header(0x0200, "13800138001", 2));
+        return message;
+    }
+
+    @Test
+    void testSynchronousStagesCompleteInline() {
+        MessageProcessorChain chain = new MessageProcessorChain(vertx, true);
+        SyncProcessor first = new SyncProcessor("first", 1);
+        SyncProcessor second = new SyncProcessor("second", 2);
+        chain.addProcessor(second).addProcessor(first);
+
+        Future<List<ProcessResult>> future = chain.process(heartbeat());
+
+        assertTrue(future.succeeded());
+        List<ProcessResult> results = future.result();
+        assertEquals(2, results.size());
+        assertEquals("first", results.get(0).getProcessorName());
+        assertEquals("second", results.get(1).getProcessorName());
+        assertEquals(1, first.syncCalls);
+        assertEquals(0, first.asyncCalls);
+        assertEquals(1, chain.getStats("second").getSuccessCount());
+    }
+
+    @Test
+    void testStagesDroppedByMessageId() {
+        MessageProcessorChain compiled = new MessageProcessorChain(vertx, true);
+        MessageProcessorChain legacy = new MessageProcessorChain(vertx);
+        for (MessageProcessorChain chain : List.of(compiled, legacy)) {
+            chain.addProcessor(new SyncProcessor("all", 1));
+            chain.addProcessor(new SyncProcessor("location", 2, 0x0200));
+        }
+
+        // 编译模式不再为永远不会执行的处理器记录跳过结果
+        assertEquals(1, compiled.process(heartbeat()).result().size());
+        assertEquals(2, compiled.process(locationReport()).result().size());
+        List<ProcessResult> legacyResults = legacy.process(heartbeat()).result();
+        assertEquals(2, legacyResults.size());
+        assertTrue(legacyResults.get(1).isSkipped());
+
+        // 增删处理器后重新生成
+        compiled.removeProcessor("location");
+        assertEquals(1, compiled.process(locationReport()).result().size());
+        compiled.addProcessor(new SyncProcessor("heartbeat", 0, 0x0002));
+        assertEquals("heartbeat", compiled.process(heartbeat()).result().get(0).getProcessorName());
+    }
+
+    @Test
+    void testLatencyByMessageId() {
+        MessageProcessorChain chain = new MessageProcessorChain(vertx, true);
+        chain.addProcessor(new SyncProcessor("all", 1));
+        for (int i = 0; i < 10; i++) {
+            chain.process(heartbeat());
+        }
+        chain.process(locationReport());
+
+        MessageProcessorChain.ProcessorStats stats = chain.getStats("all");
+        assertEquals(11, stats.getLatency().getCount());
+        assertEquals(10, stats.getLatency(0x0002).getCount());
+        assertEquals(1, stats.getLatency(0x0200).getCount());
+        assertNull(stats.getLatency(0x0100));
+        assertEquals(2, stats.getLatencyByMessageId().size());
+
+        chain.clearStats();
+        assertEquals(0, stats.getTotalCount());
+        assertNull(stats.getLatency(0x0002));
+    }
+
+    @Test
+    void testFailedStageStopsChain() {
+        MessageProcessorChain chain = new MessageProcessorChain(vertx, true);
+        SyncProcessor failing = new SyncProcessor("failing", 1) {
+            @Override
+            public ProcessResult processSync(ProcessContext context) {
+                return ProcessResult.failed(getName(), 0, "rejected");
+            }
+        };
+        SyncProcessor after = new SyncProcessor("after", 2);
+        chain.addProcessor(failing).addProcessor(after);
+
+        List<ProcessResult> results = chain.process(heartbeat()).result();
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isFailed());
+        assertEquals(0, after.syncCalls);
+    }
+
+    @Test
+    void testSynchronousExceptionFailsChain() {
+        MessageProcessorChain chain = new MessageProcessorChain(vertx, true);
+        chain.addProcessor(new SyncProcessor("broken", 1) {
+            @Override
+            public ProcessResult processSync(ProcessContext context) {
+                throw new IllegalStateException("broken");
+            }
+        });
+
+        Future<List<ProcessResult>> future = chain.process(heartbeat());
+
+        assertTrue(future.failed());
+        assertEquals("broken", future.cause().getMessage());
+        assertEquals(1, chain.getStats("broken").getFailedCount());
+    }
+
+    @Test
+    void testAsyncStageResumesChain(VertxTestContext testContext) {
+        MessageProcessorChain chain = new MessageProcessorChain(vertx, true);
+        SyncProcessor before = new SyncProcessor("before", 1);
+        SyncProcessor after = new SyncProcessor("after", 3);
+        chain.addProcessor(before).addProcessor(after).addProcessor(new MessageProcessor() {
+            @Override
+            public Future<ProcessResult> process(ProcessContext context) {
+                Promise<ProcessResult> promise = Promise.promise();
+                vertx.setTimer(10, id -> promise.complete(ProcessResult.success(getName(), 10)));
+                return promise.future();
+            }
+
+            @Override
+            public String getName() {
+                return "async";
+            }
+
+            @Override
+            public int getPriority() {
+                return 2;
+            }
+        });
+
+        chain.process(heartbeat()).onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+            assertEquals(3, results.size());
+            assertEquals("async", results.get(1).getProcessorName());
+            assertEquals(1, after.syncCalls);
+            testContext.completeNow();
+        })));
+    }
+
+    @Test
+    void testAsyncStageResumesOnKeyedExecutor(VertxTestContext testContext) {
+        KeyedExecutor keyedExecutor = KeyedExecutor.workerThreads(1, 16);
+        MessageProcessorChain compiled = new MessageProcessorChain(vertx, true);
+        MessageProcessorChain legacy = new MessageProcessorChain(vertx);
+        Checkpoint checkpoint = testContext.checkpoint(2);
+        for (MessageProcessorChain chain : List.of(compiled, legacy)) {
+            List<String> threads = new ArrayList<>();
+            SyncProcessor after = new SyncProcessor("after", 2) {
+                @Override
+                public ProcessResult processSync(ProcessContext context) {
+                    threads.add(Thread.currentThread().getName());
+                    return super.processSync(context);
+                }
+            };
+            chain.addProcessor(after).addProcessor(new MessageProcessor() {
+                @Override
+                public Future<ProcessResult> process(ProcessContext context) {
+                    // 在Event Loop上完成
+                    Promise<ProcessResult> promise = Promise.promise();
+                    vertx.setTimer(10, id -> promise.complete(ProcessResult.success(getName(), 10)));
+                    return promise.future();
+                }
+
+                @Override
+                public String getName() {
+                    return "async";
+                }
+
+                @Override
+                public int getPriority() {
+                    return 1;
+                }
+            });
+
+            keyedExecutor.submit(13800138001L, () -> chain.process(new ProcessContext("ctx", heartbeat(), vertx), keyedExecutor.resumeExecutor()))
+                    .onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+                        assertEquals(2, results.size());
+                        assertEquals(1, threads.size());
+                        assertTrue(threads.get(0).startsWith("jt808-processor-"), threads.get(0));
+                        checkpoint.flag();
+                    })));
+        }
+    }
+
+    @Test
+    void testBlockingStageRunsOnVirtualThread(VertxTestContext testContext) {
+        BlockingProcessorExecutor blockingExecutor = new BlockingProcessorExecutor(4, 0);
+        MessageProcessorChain chain = new MessageProcessorChain(vertx, true);
+        chain.setBlockingExecutor(blockingExecutor);
+        SyncProcessor after = new SyncProcessor("after", 2);
+        SyncProcessor blocking = new SyncProcessor("jdbc", 1) {
+            @Override
+            public ProcessResult processSync(ProcessContext context) {
+                context.setAttribute("virtual", Thread.currentThread().isVirtual());
+                return super.processSync(context);
+            }
+
+            @Override
+            public boolean isBlocking() {
+                return true;
+            }
+        };
+        chain.addProcessor(blocking).addProcessor(after);
+        ProcessContext context = new ProcessContext("ctx", heartbeat(), vertx);
+
+        chain.process(context).onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+            assertEquals(2, results.size());
+            assertTrue(context.<Boolean>getAttribute("virtual"));
+            assertEquals(0, blocking.asyncCalls);
+            assertEquals(1, after.syncCalls);
+            blockingExecutor.shutdown();
+            testContext.completeNow();
+        })));
+    }
+
+    /**
+     * 同步处理器，可限定处理的消息ID
+     */
+    private static class SyncProcessor implements MessageProcessor {
+        private final String name;
+        private final int priority;
+        private final int messageId;
+        int syncCalls;
+        int asyncCalls;
+
+        SyncProcessor(String name, int priority) {
+            this(name, priority, -1);
+        }
+
+        SyncProcessor(String name, int priority, int messageId) {
+            this.name = name;
+            this.priority = priority;
+            this.messageId = messageId;
+        }
+
+        @Override
+        public Future<ProcessResult> process(ProcessContext context) {
+            asyncCalls++;
+            return Future.succeededFuture(processSync(context));
+        }
+
+        @Override
+        public ProcessResult processSync(ProcessContext context) {
+            syncCalls++;
+            return ProcessResult.success(name, 0);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean canProcess(int messageId) {
+            return this.messageId < 0 || this.messageId == messageId;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+}
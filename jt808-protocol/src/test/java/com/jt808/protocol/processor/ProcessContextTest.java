@@ -0,0 +1,121 @@
+package com.jt808.protocol.processor;
+
+import com.jt808.protocol.message.JT808Header;
+import com.jt808.protocol.message.JT808Message;
+import com.jt808.protocol.message.T0002TerminalHeartbeat;
+import com.jt808.protocol.processor.impl.SessionHandler;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 处理上下文属性和上下文池测试
+ */
+@ExtendWith(VertxExtension.class)
+class ProcessContextTest {
+
+    private static final AttributeKey<Integer> RETRIES = AttributeKey.of("test.retries");
+
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    private static JT808Message heartbeat() {
+        T0002TerminalHeartbeat message = new T0002TerminalHeartbeat();
+        message.setHeader(new JT808Header(0x0002, "13800138001", 1));
+        return message;
+    }
+
+    @Test
+    void testTypedAndNamedAttributesShareSlots() {
+        ProcessContext context = new ProcessContext("ctx", heartbeat(), vertx);
+
+        context.set(SessionHandler.TERMINAL_ID, "13800138001").set(RETRIES, 3);
+        assertEquals("13800138001", context.getAttribute("terminalId"));
+        assertEquals(3, context.get(RETRIES));
+
+        context.setAttribute("test.retries", 4);
+        assertEquals(4, context.get(RETRIES));
+        assertEquals(4, context.removeAttribute("test.retries"));
+        assertNull(context.get(RETRIES));
+        assertEquals(0, context.get(RETRIES, 0));
+        assertNull(context.getAttribute("test.unregistered"));
+        assertEquals("none", context.getAttribute("test.unregistered", "none"));
+
+        // 上下文创建后注册的键
+        AttributeKey<String> late = AttributeKey.of("test.late");
+        assertSame(late, AttributeKey.of("test.late"));
+        context.set(late, "value");
+        assertEquals("value", context.getAttribute("test.late"));
+
+        Map<String, Object> attributes = context.getAttributes();
+        assertEquals(2, attributes.size());
+        assertEquals("13800138001", attributes.get("terminalId"));
+
+        ProcessContext subContext = context.createSubContext("sub");
+        subContext.set(late, "changed");
+        assertEquals("13800138001", subContext.get(SessionHandler.TERMINAL_ID));
+        assertEquals("value", context.get(late));
+    }
+
+    @Test
+    void testUnregisteredNamesDoNotRegisterKeys() {
+        ProcessContext context = new ProcessContext("ctx", heartbeat(), vertx);
+        int keys = AttributeKey.count();
+
+        context.setAttribute("test.unknown", "value");
+        assertEquals(keys, AttributeKey.count());
+        assertNull(AttributeKey.lookup("test.unknown"));
+        assertEquals("value", context.getAttribute("test.unknown"));
+        assertEquals("value", context.getAttributes().get("test.unknown"));
+        assertEquals("value", context.createSubContext("sub").getAttribute("test.unknown"));
+
+        assertEquals("value", context.removeAttribute("test.unknown"));
+        assertNull(context.getAttribute("test.unknown"));
+        context.setAttribute("test.unknown", "value");
+        context.setAttribute("test.unknown", null);
+        assertNull(context.getAttribute("test.unknown"));
+        assertEquals(keys, AttributeKey.count());
+    }
+
+    @Test
+    void testPooledContextIsReset(VertxTestContext testContext) {
+        ProcessContextPool pool = new ProcessContextPool(vertx, null, 2);
+
+        vertx.runOnContext(v -> testContext.verify(() -> {
+            ProcessContext first = pool.acquire(heartbeat());
+            first.set(RETRIES, 1);
+            first.stopProcessing();
+            String firstId = first.getContextId();
+            pool.release(first);
+            assertNull(first.getMessage());
+            assertEquals(1, pool.getPooledCount());
+
+            ProcessContext second = pool.acquire(heartbeat());
+            assertSame(first, second);
+            assertNull(second.get(RETRIES));
+            assertTrue(second.shouldContinue());
+            assertNotEquals(firstId, second.getContextId());
+            assertEquals(0x0002, second.getMessage().getMessageId());
+
+            // 超过上限的上下文直接丢弃
+            ProcessContext third = pool.acquire(heartbeat());
+            ProcessContext fourth = pool.acquire(heartbeat());
+            pool.release(second);
+            pool.release(third);
+            pool.release(fourth);
+            assertEquals(2, pool.getPooledCount());
+            testContext.completeNow();
+        }));
+    }
+}
@@ -2,6 +2,7 @@ package com.jt808.protocol.processor;
 
 import com.jt808.protocol.message.JT808Header;
 import com.jt808.protocol.message.JT808Message;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
@@ -41,6 +42,8 @@ class ProcessorManagerTest {
         assertNotNull(processorManager.getSessionHandler());
         assertNotNull(processorManager.getMessageRouter());
         assertNotNull(processorManager.getProcessorChain());
+        // pinning监控默认关闭
+        assertFalse(processorManager.getBlockingExecutor().isMonitoringPinning());
     }
 
     @Test
@@ -88,6 +91,49 @@ class ProcessorManagerTest {
                 })));
     }
 
+    @Test
+    void testWorkerExecutor(VertxTestContext testContext) {
+        ProcessorManager workerManager = new ProcessorManager(vertx, new JsonObject()
+                .put("processor.executor", "worker")
+                .put("processor.workerThreads", 2));
+        TestMessage testMessage = new TestMessage();
+        testMessage.setHeader(new JT808Header(0x0002, "13800138001", 1));
+
+        workerManager.processMessage(testMessage)
+                .onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+                    assertEquals(4, results.size());
+                    JsonObject executor = workerManager.getSystemStatus().getJsonObject("executor");
+                    assertEquals(1L, executor.getLong("submitted"));
+                    workerManager.shutdown();
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void testCompiledPipelineFollowsRoutes(VertxTestContext testContext) {
+        ProcessorManager compiledManager = new ProcessorManager(vertx, new JsonObject()
+                .put("processor.compiledPipeline", true));
+        TestMessage testMessage = new TestMessage();
+        testMessage.setHeader(new JT808Header(0x0002, "13800138001", 1));
+
+        // 没有路由的消息ID不经过消息路由器，路由增删后处理计划随之更新
+        compiledManager.getMessageRouter().removeHandler(0x0002);
+        compiledManager.processMessage(testMessage)
+                .compose(results -> {
+                    testContext.verify(() -> {
+                        assertEquals(3, results.size());
+                        assertTrue(results.stream().noneMatch(result -> "MessageRouter".equals(result.getProcessorName())));
+                    });
+                    compiledManager.getMessageRouter().registerHandler(0x0002, message -> Future.succeededFuture());
+                    return compiledManager.processMessage(testMessage);
+                })
+                .onComplete(testContext.succeeding(results -> testContext.verify(() -> {
+                    assertEquals(4, results.size());
+                    assertTrue(results.stream().anyMatch(result -> "MessageRouter".equals(result.getProcessorName())));
+                    testContext.completeNow();
+                })));
+    }
+
     @Test
     void testProcessorEnableDisable() {
         // 测试处理器启用/禁用